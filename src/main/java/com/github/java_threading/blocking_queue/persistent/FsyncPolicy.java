@@ -0,0 +1,16 @@
+package com.github.java_threading.blocking_queue.persistent;
+
+/**
+ * When the PersistentQueue forces mapped pages to disk.
+ *
+ * - PER_RECORD  - force after every put/take (safest, slowest)
+ * - BATCHED     - force after every N puts/takes (N = batchSize)
+ * - OS_MANAGED  - never force explicitly, the OS writes dirty pages back
+ *                 on its own schedule (fastest, survives process crash
+ *                 but NOT power loss)
+ */
+public enum FsyncPolicy {
+    PER_RECORD,
+    BATCHED,
+    OS_MANAGED
+}
@@ -0,0 +1,380 @@
+package com.github.java_threading.blocking_queue.persistent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Durable bounded blocking queue backed by memory-mapped files
+ *
+ * Layout on disk (inside the queue directory):
+ * - 00000000000000000000.seg, 00000000000000000001.seg, ...
+ *   Fixed-size segment files holding length-prefixed records:
+ *   [int header][payload bytes][int header][payload bytes]...
+ *     header == 0   -> nothing written here yet
+ *     header == -1  -> end of segment, continue in the next one
+ *     header  > 0   -> record of (header - 1) bytes follows
+ * - index
+ *   8 bytes: (readSegmentId << 32 | readPosition) of the consumer,
+ *   written with a single putLong so it never tears.
+ *
+ * The payload is written BEFORE its header, so a record only becomes
+ * visible (after a crash) once it is complete.
+ *
+ * On restart the read position comes from the index and the write position
+ * is recovered by walking the headers until the first unwritten slot.
+ * Segments the consumer has moved past are deleted. Reopened with a smaller
+ * capacity than the records found, the queue starts over-full: nothing is
+ * lost, producers wait until consumers drain it below the new capacity.
+ *
+ * Blocking semantics are the same as the BoundedBuffer in ConditionMain:
+ * one lock, notFull for producers and notEmpty for consumers.
+ */
+public class PersistentQueue implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 4;
+    private static final int UNWRITTEN = 0;
+    private static final int END_OF_SEGMENT = -1;
+    private static final int INDEX_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int capacity;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final int batchSize;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();   // Producers wait on this
+    private final Condition notEmpty = lock.newCondition();  // Consumers wait on this
+
+    // Mapped segments from the read segment up to the write segment
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final MappedByteBuffer index;
+
+    private long readSegmentId;
+    private int readPosition;
+    private long writeSegmentId;
+    private int writePosition;
+    private int count;
+    private int unsyncedWrites;
+    private int unsyncedReads;
+    private boolean closed;
+
+    public PersistentQueue(Path directory, int capacity, int segmentSize) throws IOException {
+        this(directory, capacity, segmentSize, FsyncPolicy.BATCHED, 64);
+    }
+
+    public PersistentQueue(Path directory, int capacity, int segmentSize,
+                           FsyncPolicy fsyncPolicy, int batchSize) throws IOException {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("capacity and batchSize must be positive");
+        }
+        if (segmentSize < 2 * HEADER_SIZE + 1) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.batchSize = batchSize;
+
+        Files.createDirectories(directory);
+        this.index = map(directory.resolve("index"), INDEX_SIZE);
+        recover();
+    }
+
+    /**
+     * Appends a record, waiting while the queue is full
+     */
+    public void put(byte[] record) throws InterruptedException {
+        checkRecordSize(record);
+        lock.lockInterruptibly();
+        try {
+            while (count >= capacity) {  // > after reopening with a smaller capacity
+                ensureOpen();
+                notFull.await();  // Wait for space
+            }
+            ensureOpen();
+            append(record);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record if there is space, returns false immediately otherwise
+     */
+    public boolean offer(byte[] record) {
+        checkRecordSize(record);
+        lock.lock();
+        try {
+            ensureOpen();
+            if (count >= capacity) {
+                return false;
+            }
+            append(record);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the head record, waiting while the queue is empty
+     */
+    public byte[] take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                ensureOpen();
+                notEmpty.await();  // Wait for data
+            }
+            ensureOpen();
+            return removeHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the head record, returns null immediately if the queue is empty
+     */
+    public byte[] poll() {
+        lock.lock();
+        try {
+            ensureOpen();
+            return count == 0 ? null : removeHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything to disk and drops the mappings. Java has no public
+     * unmap: the OS mappings go away once the buffers are garbage-collected.
+     * Unconsumed records stay on disk and are visible to the next instance
+     * opened on the same directory. Blocked producers/consumers are woken
+     * up and get an IllegalStateException.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (MappedByteBuffer segment : segments.values()) {
+                segment.force();
+            }
+            index.force();
+            segments.clear();
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller must hold the lock
+    private void append(byte[] record) {
+        MappedByteBuffer segment = segments.get(writeSegmentId);
+
+        // Always keep HEADER_SIZE bytes spare for the end-of-segment marker
+        if (writePosition + HEADER_SIZE + record.length + HEADER_SIZE > segmentSize) {
+            segment.putInt(writePosition, END_OF_SEGMENT);
+            if (fsyncPolicy != FsyncPolicy.OS_MANAGED) {
+                segment.force();
+                unsyncedWrites = 0;
+            }
+            writeSegmentId++;
+            writePosition = 0;
+            segment = mapSegment(writeSegmentId);
+            segments.put(writeSegmentId, segment);
+        }
+
+        segment.put(writePosition + HEADER_SIZE, record);
+        segment.putInt(writePosition, record.length + 1);  // Header last: commits the record
+        writePosition += HEADER_SIZE + record.length;
+        count++;
+
+        if (shouldForce(++unsyncedWrites)) {
+            segment.force();
+            unsyncedWrites = 0;
+        }
+        notEmpty.signal();  // Signal consumers that data is available
+    }
+
+    // Caller must hold the lock and have checked count > 0
+    private byte[] removeHead() {
+        MappedByteBuffer segment = segments.get(readSegmentId);
+        int header = segment.getInt(readPosition);
+
+        if (header == END_OF_SEGMENT) {
+            // Move the index forward BEFORE deleting, so a crash never
+            // leaves the index pointing into a deleted segment
+            long consumedSegmentId = readSegmentId;
+            readSegmentId++;
+            readPosition = 0;
+            storeIndex(true);
+            segments.remove(consumedSegmentId);
+            deleteSegment(consumedSegmentId);
+
+            segment = segments.get(readSegmentId);
+            header = segment.getInt(readPosition);
+        }
+
+        byte[] record = new byte[header - 1];
+        segment.get(readPosition + HEADER_SIZE, record);
+        readPosition += HEADER_SIZE + record.length;
+        count--;
+        storeIndex(false);
+
+        notFull.signal();  // Signal producers that space is available
+        return record;
+    }
+
+    private void storeIndex(boolean segmentChanged) {
+        index.putLong(0, (readSegmentId << 32) | readPosition);
+        boolean force = segmentChanged
+                ? fsyncPolicy != FsyncPolicy.OS_MANAGED
+                : shouldForce(unsyncedReads + 1);
+        if (force) {
+            index.force();
+            unsyncedReads = 0;
+        } else if (!segmentChanged) {
+            unsyncedReads++;
+        }
+    }
+
+    private boolean shouldForce(int unsynced) {
+        return switch (fsyncPolicy) {
+            case PER_RECORD -> true;
+            case BATCHED -> unsynced >= batchSize;
+            case OS_MANAGED -> false;
+        };
+    }
+
+    /**
+     * Rebuilds the in-memory positions from the index and segment files
+     */
+    private void recover() throws IOException {
+        List<Long> segmentIds = listSegmentIds();
+
+        long packed = index.getLong(0);
+        readSegmentId = packed >>> 32;
+        readPosition = (int) packed;
+
+        if (!segmentIds.isEmpty() && readSegmentId < segmentIds.get(0)) {
+            // Index was not flushed before the old segment got deleted
+            readSegmentId = segmentIds.get(0);
+            readPosition = 0;
+        }
+
+        for (long id : segmentIds) {
+            if (id < readSegmentId) {
+                deleteSegment(id);  // Fully consumed leftovers
+            } else {
+                segments.put(id, mapSegment(id));
+            }
+        }
+        segments.computeIfAbsent(readSegmentId, this::mapSegment);
+
+        // Walk the headers from the read position to find the write position
+        long segmentId = readSegmentId;
+        int position = readPosition;
+        while (true) {
+            MappedByteBuffer segment = segments.get(segmentId);
+            int header = segment.getInt(position);
+            if (header == END_OF_SEGMENT) {
+                segmentId++;
+                position = 0;
+                segments.computeIfAbsent(segmentId, this::mapSegment);
+                continue;
+            }
+            if (header <= UNWRITTEN || position + 2 * HEADER_SIZE + header - 1 > segmentSize) {
+                break;  // Unwritten (or torn) slot: this is where the writer resumes
+            }
+            position += HEADER_SIZE + header - 1;
+            count++;
+        }
+        writeSegmentId = segmentId;
+        writePosition = position;
+
+        // Anything mapped past the write segment is garbage from a crash mid-roll
+        while (segments.lastKey() > writeSegmentId) {
+            deleteSegment(segments.pollLastEntry().getKey());
+        }
+    }
+
+    private List<Long> listSegmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private MappedByteBuffer mapSegment(long segmentId) {
+        try {
+            return map(segmentPath(segmentId), segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteSegment(long segmentId) {
+        try {
+            Files.deleteIfExists(segmentPath(segmentId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long segmentId) {
+        return directory.resolve(String.format("%020d", segmentId) + SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private void checkRecordSize(byte[] record) {
+        if (record.length + 2 * HEADER_SIZE > segmentSize) {
+            throw new IllegalArgumentException("Record of " + record.length
+                    + " bytes does not fit in a segment of " + segmentSize + " bytes");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Queue is closed");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.java_threading.blocking_queue.persistent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * PersistentQueue Demo
+ *
+ * Same producer/consumer shape as BlockingQueueMain, but the queue lives in
+ * memory-mapped files, so whatever was not consumed survives a restart.
+ *
+ * Segments are deliberately tiny (64 bytes) so the demo rolls over several
+ * segment files and you can watch consumed ones being deleted.
+ */
+public class PersistentQueueMain {
+
+    private static final int CAPACITY = 5;
+    private static final int SEGMENT_SIZE = 64;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("persistent-queue");
+
+        // Run 1: producer outpaces a consumer that stops early ("crash")
+        System.out.println("=== Run 1: produce 10, consume 4 ===");
+        try (PersistentQueue queue = new PersistentQueue(directory, CAPACITY, SEGMENT_SIZE,
+                FsyncPolicy.PER_RECORD, 1)) {
+
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    try {
+                        queue.put(("message-" + i).getBytes(StandardCharsets.UTF_8));
+                        System.out.println(Thread.currentThread().getName() + " put message-" + i);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }, "producer-thread");
+
+            Thread consumer = new Thread(() -> {
+                for (int i = 0; i < 4; i++) {
+                    try {
+                        Thread.sleep(50);  // Slower consumption, producer blocks when full
+                        String element = new String(queue.take(), StandardCharsets.UTF_8);
+                        System.out.println(Thread.currentThread().getName() + " took " + element);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }, "consumer-thread");
+
+            producer.start();
+            consumer.start();
+            consumer.join();
+
+            // Producer is stuck on a full queue; pretend the process dies here
+            Thread.sleep(100);
+            System.out.println("Queue size before restart: " + queue.size());
+            producer.interrupt();
+            producer.join();
+        }
+        printSegments(directory);
+
+        // Run 2: reopen the same directory and drain what is left
+        System.out.println("\n=== Run 2: reopen and drain ===");
+        try (PersistentQueue queue = new PersistentQueue(directory, CAPACITY, SEGMENT_SIZE)) {
+            System.out.println("Recovered queue size: " + queue.size());
+            byte[] record;
+            while ((record = queue.poll()) != null) {
+                System.out.println("Recovered " + new String(record, StandardCharsets.UTF_8));
+            }
+            printSegments(directory);
+        }
+
+        deleteRecursively(directory);
+    }
+
+    private static void printSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            System.out.println("Files on disk: " + files.map(p -> p.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
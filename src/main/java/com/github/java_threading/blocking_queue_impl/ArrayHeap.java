@@ -0,0 +1,92 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.Comparator;
+
+/**
+ * Fixed-size array-backed binary min-heap (NOT thread-safe)
+ *
+ * Parent of index i is (i - 1) / 2, children are 2i + 1 and 2i + 2.
+ * add/poll are O(log n), peek is O(1). The array is allocated once with
+ * the queue's capacity, so no resizing or per-element node allocation.
+ *
+ * Callers (BoundedPriorityBlockingQueue, BoundedDelayQueue) guard it
+ * with their own lock.
+ */
+class ArrayHeap<T> {
+
+    private final Object[] elements;
+    private final Comparator<? super T> comparator;
+    private int size;
+
+    ArrayHeap(int capacity, Comparator<? super T> comparator) {
+        this.elements = new Object[capacity];
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == elements.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    T peek() {
+        return (T) elements[0];
+    }
+
+    /**
+     * Caller must make sure the heap is not full
+     */
+    void add(T element) {
+        siftUp(size++, element);
+    }
+
+    @SuppressWarnings("unchecked")
+    T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T result = (T) elements[0];
+        T last = (T) elements[--size];
+        elements[size] = null;  // Let GC reclaim it
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftUp(int index, T element) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            T parentElement = (T) elements[parent];
+            if (comparator.compare(element, parentElement) >= 0) {
+                break;
+            }
+            elements[index] = parentElement;  // Move parent down
+            index = parent;
+        }
+        elements[index] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index, T element) {
+        int half = size >>> 1;  // Nodes below half have at least one child
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare((T) elements[right], (T) elements[child]) < 0) {
+                child = right;
+            }
+            T childElement = (T) elements[child];
+            if (comparator.compare(element, childElement) <= 0) {
+                break;
+            }
+            elements[index] = childElement;  // Move smaller child up
+            index = child;
+        }
+        elements[index] = element;
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking delay queue
+ *
+ * An element can only be taken once its getDelay() is <= 0.
+ * Elements are kept in a heap ordered by delay, so the head is always
+ * the one that becomes due first.
+ *
+ * Consumers sleep EXACTLY until the head is due (awaitNanos(delay))
+ * instead of polling. To avoid every consumer waking up for the same
+ * element, only one "leader" thread does the timed wait on the head;
+ * the others wait untimed until the leader hands over.
+ *
+ * A new element that becomes the head (due earlier than the old head)
+ * wakes a consumer so it can recompute its sleep time.
+ */
+public class BoundedDelayQueue<T extends Delayed> {
+
+    private final ArrayHeap<T> heap;
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();    // Producers wait on this
+    private final Condition available = lock.newCondition();  // Consumers wait on this
+    private Thread leader;  // Consumer doing the timed wait on the head
+
+    public BoundedDelayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.heap = new ArrayHeap<>(capacity, Delayed::compareTo);
+    }
+
+    public void put(T element) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (heap.isFull()) {
+                notFull.await();  // Wait for space
+            }
+            enqueue(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (heap.isFull()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the head element is due, then removes it
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                T first = heap.peek();
+                if (first == null) {
+                    available.await();  // Nothing queued at all
+                    continue;
+                }
+                long delay = first.getDelay(TimeUnit.NANOSECONDS);
+                if (delay <= 0) {
+                    return dequeue();
+                }
+                if (leader != null) {
+                    available.await();  // Someone else is already timing the head
+                } else {
+                    Thread thisThread = Thread.currentThread();
+                    leader = thisThread;
+                    try {
+                        available.awaitNanos(delay);  // Sleep until the head is due
+                    } finally {
+                        if (leader == thisThread) {
+                            leader = null;
+                        }
+                    }
+                }
+            }
+        } finally {
+            handOverLeadership();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns null if no element becomes due within the timeout
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                T first = heap.peek();
+                if (first == null) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    nanos = available.awaitNanos(nanos);
+                    continue;
+                }
+                long delay = first.getDelay(TimeUnit.NANOSECONDS);
+                if (delay <= 0) {
+                    return dequeue();
+                }
+                if (nanos <= 0) {
+                    return null;
+                }
+                if (nanos < delay || leader != null) {
+                    nanos = available.awaitNanos(nanos);
+                } else {
+                    Thread thisThread = Thread.currentThread();
+                    leader = thisThread;
+                    try {
+                        long timeLeft = available.awaitNanos(delay);
+                        nanos -= delay - timeLeft;
+                    } finally {
+                        if (leader == thisThread) {
+                            leader = null;
+                        }
+                    }
+                }
+            }
+        } finally {
+            handOverLeadership();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the head only if it is already due, never blocks
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            T first = heap.peek();
+            return (first == null || first.getDelay(TimeUnit.NANOSECONDS) > 0) ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(T element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        heap.add(element);
+        if (heap.peek() == element) {
+            // New head is due earlier: the current leader's sleep is too long
+            leader = null;
+            available.signal();
+        }
+    }
+
+    private T dequeue() {
+        T element = heap.poll();
+        notFull.signal();  // Signal producers that space is available
+        return element;
+    }
+
+    // Caller must hold the lock
+    private void handOverLeadership() {
+        if (leader == null && heap.peek() != null) {
+            available.signal();  // Let another consumer time the new head
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking priority queue
+ *
+ * Same blocking semantics as the BoundedBuffer in ConditionMain
+ * (one lock, notFull + notEmpty conditions), but elements come out
+ * smallest-first according to the comparator instead of FIFO.
+ *
+ * Unlike java.util.concurrent.PriorityBlockingQueue this one is BOUNDED:
+ * producers block when capacity is reached, which gives backpressure.
+ */
+public class BoundedPriorityBlockingQueue<T> {
+
+    private final ArrayHeap<T> heap;
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();   // Producers wait on this
+    private final Condition notEmpty = lock.newCondition();  // Consumers wait on this
+
+    public BoundedPriorityBlockingQueue(int capacity, Comparator<? super T> comparator) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.heap = new ArrayHeap<>(capacity, comparator);
+    }
+
+    public void put(T element) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (heap.isFull()) {
+                notFull.await();  // Wait for space
+            }
+            enqueue(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offer(T element) {
+        lock.lock();
+        try {
+            if (heap.isFull()) {
+                return false;
+            }
+            enqueue(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (heap.isFull()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);  // Returns the time left
+            }
+            enqueue(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the highest-priority (smallest) element, waiting while empty
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == 0) {
+                notEmpty.await();  // Wait for data
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T poll() {
+        lock.lock();
+        try {
+            return heap.size() == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (heap.size() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T peek() {
+        lock.lock();
+        try {
+            return heap.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(T element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        heap.add(element);
+        notEmpty.signal();  // Signal consumers that data is available
+    }
+
+    private T dequeue() {
+        T element = heap.poll();
+        notFull.signal();  // Signal producers that space is available
+        return element;
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.LinkedList;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custom bounded blocking queue using synchronized + wait()/notifyAll()
+ *
+ * - put(e) / take()              - block indefinitely
+ * - offer(e, timeout, unit)      - wait at most timeout for space
+ * - poll(timeout, unit)          - wait at most timeout for an element
+ * - close()                      - graceful shutdown
+ *
+ * close() semantics:
+ * - New puts are rejected (put throws IllegalStateException, offer returns false)
+ * - Elements already in the queue can still be drained by consumers
+ * - Every blocked producer and consumer is woken up immediately
+ * - Once closed AND empty, take()/poll() return null instead of blocking,
+ *   so consumers can simply loop until they get null
+ *
+ * null means "closed and drained", so null elements are rejected
+ * (NullPointerException, as in java.util.concurrent.BlockingQueue).
+ */
+public class CustomBlockingQueue<T> {
+
+    private final Queue<T> queue = new LinkedList<>();
+    private final int capacity;
+    private boolean closed = false;
+
+    public CustomBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public synchronized void put(T element) throws InterruptedException {
+        Objects.requireNonNull(element);
+        while (!closed && queue.size() == capacity) {
+            wait();  // Queue full, wait for consumer (or close)
+        }
+        if (closed) {
+            throw new IllegalStateException("Queue is closed");
+        }
+        queue.add(element);
+        notifyAll();  // Wake up waiting consumers
+    }
+
+    /**
+     * Returns false if no space became available within the timeout
+     * or if the queue is (or gets) closed
+     */
+    public synchronized boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(element);
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while (!closed && queue.size() == capacity) {
+            if (remaining <= 0) {
+                return false;  // Timed out
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        if (closed) {
+            return false;
+        }
+        queue.add(element);
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Returns null only when the queue is closed and fully drained
+     */
+    public synchronized T take() throws InterruptedException {
+        while (!closed && queue.isEmpty()) {
+            wait();  // Queue empty, wait for producer (or close)
+        }
+        T element = queue.poll();  // null if closed and drained
+        notifyAll();  // Wake up waiting producers
+        return element;
+    }
+
+    /**
+     * Returns null if nothing arrived within the timeout
+     * or if the queue is closed and fully drained
+     */
+    public synchronized T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while (!closed && queue.isEmpty()) {
+            if (remaining <= 0) {
+                return null;  // Timed out
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        T element = queue.poll();
+        notifyAll();
+        return element;
+    }
+
+    /**
+     * Stops accepting new elements and wakes every waiting thread
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Consumer thread group that grows and shrinks with the queue
+ *
+ * Instead of a fixed number of consumer threads (blocking_queue_impl.Main
+ * starts exactly two), a monitor thread samples the queue depth and the
+ * average handling latency every sampleIntervalMillis and:
+ * - spawns one more consumer when the queue keeps falling behind
+ * - retires one consumer when the queue keeps being (almost) empty
+ * always staying within [minConsumers, maxConsumers].
+ *
+ * Retiring is cooperative: the monitor bumps a "pending retirements"
+ * counter and the next consumer that finishes an element (or times out
+ * waiting for one) claims it and exits. No thread is ever interrupted
+ * in the middle of handling an element.
+ *
+ * close() closes the queue: consumers drain what is left and exit.
+ */
+public class ElasticConsumerGroup<T> {
+
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private final CustomBlockingQueue<T> queue;
+    private final Consumer<? super T> handler;
+    private final ScalingPolicy policy;
+    private final String name;
+
+    private final Set<Thread> consumers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeConsumers = new AtomicInteger();
+    private final AtomicInteger pendingRetirements = new AtomicInteger();
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+
+    // Reset by the monitor on every sample
+    private final LongAdder intervalHandled = new LongAdder();
+    private final LongAdder intervalHandlingNanos = new LongAdder();
+
+    private Thread monitor;
+    private volatile boolean stopped = false;
+    private int behindStreak = 0;  // Only touched by the monitor thread
+    private int idleStreak = 0;
+
+    public ElasticConsumerGroup(String name, CustomBlockingQueue<T> queue,
+                                Consumer<? super T> handler, ScalingPolicy policy) {
+        this.name = name;
+        this.queue = queue;
+        this.handler = handler;
+        this.policy = policy;
+    }
+
+    public synchronized void start() {
+        if (monitor != null) {
+            throw new IllegalStateException("Already started");
+        }
+        for (int i = 0; i < policy.minConsumers(); i++) {
+            spawnConsumer();
+        }
+        monitor = new Thread(this::runMonitor, name + "-monitor");
+        monitor.setDaemon(true);
+        monitor.start();
+    }
+
+    /**
+     * Closes the queue; consumers drain it and exit
+     */
+    public void close() {
+        stopped = true;
+        queue.close();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread consumer : consumers) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return consumers.isEmpty();
+            }
+            consumer.join(remainingMillis);
+        }
+        return consumers.isEmpty();
+    }
+
+    public int activeConsumers() {
+        return activeConsumers.get();
+    }
+
+    public long processedCount() {
+        return processed.sum();
+    }
+
+    private void spawnConsumer() {
+        activeConsumers.incrementAndGet();
+        Thread consumer = new Thread(this::runConsumer, name + "-consumer-" + threadIds.incrementAndGet());
+        consumers.add(consumer);
+        consumer.start();
+    }
+
+    private void runConsumer() {
+        try {
+            while (true) {
+                // Timed poll so an idle consumer still gets to check for retirement
+                T element = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (element != null) {
+                    long start = System.nanoTime();
+                    try {
+                        handler.accept(element);
+                    } catch (RuntimeException e) {
+                        System.out.println(Thread.currentThread().getName() + " - handler failed: " + e);
+                    }
+                    intervalHandlingNanos.add(System.nanoTime() - start);
+                    intervalHandled.increment();
+                    processed.increment();
+                } else if (queue.isClosed() && queue.size() == 0) {
+                    return;  // Closed and drained
+                }
+                if (claimRetirement()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeConsumers.decrementAndGet();
+            consumers.remove(Thread.currentThread());
+        }
+    }
+
+    /**
+     * Claims one pending retirement, if any
+     */
+    private boolean claimRetirement() {
+        int pending;
+        while ((pending = pendingRetirements.get()) > 0) {
+            if (pendingRetirements.compareAndSet(pending, pending - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runMonitor() {
+        while (!stopped) {
+            try {
+                Thread.sleep(policy.sampleIntervalMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            sample();
+        }
+    }
+
+    private void sample() {
+        int depth = queue.size();
+        long handled = intervalHandled.sumThenReset();
+        long handlingNanos = intervalHandlingNanos.sumThenReset();
+        long avgLatencyMillis = handled == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(handlingNanos / handled);
+
+        // Consumers that are still running but already asked to leave don't count
+        int effective = activeConsumers.get() - pendingRetirements.get();
+
+        boolean behind = depth >= policy.highWatermark()
+                || (depth > policy.lowWatermark() && avgLatencyMillis > policy.maxLatencyMillis());
+        boolean idle = depth <= policy.lowWatermark();
+
+        behindStreak = behind ? behindStreak + 1 : 0;
+        idleStreak = idle ? idleStreak + 1 : 0;
+
+        if (behindStreak >= policy.scaleUpAfterSamples() && effective < policy.maxConsumers()) {
+            behindStreak = 0;
+            if (!claimRetirement()) {  // Cancel a pending retirement instead of spawning
+                spawnConsumer();
+            }
+            System.out.println(name + " - scale UP to " + (effective + 1)
+                    + " consumers (depth=" + depth + ", avg latency=" + avgLatencyMillis + "ms)");
+        } else if (idleStreak >= policy.scaleDownAfterSamples() && effective > policy.minConsumers()) {
+            idleStreak = 0;
+            pendingRetirements.incrementAndGet();
+            System.out.println(name + " - scale DOWN to " + (effective - 1)
+                    + " consumers (depth=" + depth + ")");
+        }
+    }
+}
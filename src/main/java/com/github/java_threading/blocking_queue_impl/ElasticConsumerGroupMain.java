@@ -0,0 +1,61 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elastic Consumer Group Demo
+ *
+ * Producer alternates between bursts and quiet periods.
+ * Watch the group grow during a burst and shrink back to the
+ * minimum once the queue stays empty for a while.
+ */
+public class ElasticConsumerGroupMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        CustomBlockingQueue<Integer> queue = new CustomBlockingQueue<>(200);
+
+        ScalingPolicy policy = new ScalingPolicy(
+                1, 8,        // min / max consumers
+                20, 2,       // high / low watermark (queue depth)
+                50,          // max average handling latency in ms
+                3, 5,        // samples before scaling up / down
+                100);        // sample every 100ms
+
+        ElasticConsumerGroup<Integer> group = new ElasticConsumerGroup<>("workers", queue, element -> {
+            try {
+                Thread.sleep(20);  // Each element takes ~20ms to handle
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, policy);
+        group.start();
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int burst = 1; burst <= 2; burst++) {
+                    System.out.println("producer - burst " + burst + " (~500 elements/s for 2s)");
+                    for (int i = 0; i < 1000; i++) {
+                        queue.put(i);
+                        Thread.sleep(2);
+                    }
+                    System.out.println("producer - quiet period");
+                    TimeUnit.SECONDS.sleep(3);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "producer");
+        producer.start();
+
+        // Report every half second while the producer is running
+        while (producer.isAlive()) {
+            TimeUnit.MILLISECONDS.sleep(500);
+            System.out.println("main - depth=" + queue.size() + " consumers=" + group.activeConsumers()
+                    + " processed=" + group.processedCount());
+        }
+
+        group.close();
+        System.out.println("main - terminated cleanly: " + group.awaitTermination(5, TimeUnit.SECONDS)
+                + ", processed=" + group.processedCount());
+    }
+}
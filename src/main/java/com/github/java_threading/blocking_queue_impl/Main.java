@@ -1,35 +1,33 @@
 package com.github.java_threading.blocking_queue_impl;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 
 public class Main {
 
-    Queue<String> blockingQueue = new LinkedList<>();
-    int capacity = 5;
+    CustomBlockingQueue<String> blockingQueue = new CustomBlockingQueue<>(5);
 
-    private synchronized void producer() throws InterruptedException {
+    private boolean producer() throws InterruptedException {
+        String element = System.currentTimeMillis() + "";
 
-        while (blockingQueue.size() == capacity) {
-            wait();
+        // Timed offer: give up after 500ms instead of blocking forever on a full queue
+        if (!blockingQueue.offer(element, 500, TimeUnit.MILLISECONDS)) {
+            if (blockingQueue.isClosed()) {
+                return false;
+            }
+            System.out.println(Thread.currentThread().getName() + " - Queue full, dropping element - " + element);
+            return true;
         }
-
-        String element = System.currentTimeMillis() + "";
-        blockingQueue.add(element);
         System.out.println(Thread.currentThread().getName() + " - Produced element - " + element);
-        notifyAll();
-
+        return true;
     }
 
-    private synchronized void consumer() throws InterruptedException {
-        while (blockingQueue.isEmpty()) {
-            wait();
+    private boolean consumer() throws InterruptedException {
+        String poll = blockingQueue.take();
+        if (poll == null) {
+            return false;  // Closed and fully drained
         }
-
-        String poll = blockingQueue.poll();
         System.out.println(Thread.currentThread().getName() + " - Retrieved element - " + poll);
-        notifyAll();
+        return true;
     }
 
 
@@ -37,24 +35,25 @@ public class Main {
         Main obj = new Main();
         Thread t1 = new Thread(() -> {
             try {
-                while (true) {
-                    obj.producer();
-                    TimeUnit.SECONDS.sleep(1);
+                while (obj.producer()) {
+                    TimeUnit.MILLISECONDS.sleep(100);
                 }
             } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+                Thread.currentThread().interrupt();
             }
+            System.out.println(Thread.currentThread().getName() + " - Stopped");
         }, "producer-thread-1");
 
 
         Runnable consumerRunnable = () -> {
             try {
-                while (true) {
-                    obj.consumer();
-                    TimeUnit.SECONDS.sleep(1);                 }
+                while (obj.consumer()) {
+                    TimeUnit.MILLISECONDS.sleep(300);
+                }
             } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+                Thread.currentThread().interrupt();
             }
+            System.out.println(Thread.currentThread().getName() + " - Stopped");
         };
 
         Thread t2 = new Thread(consumerRunnable, "consumer-thread-1");
@@ -64,7 +63,18 @@ public class Main {
         t2.start();
         t3.start();
 
+        TimeUnit.SECONDS.sleep(3);
+
+        // Graceful shutdown: reject new puts, let consumers drain what is left
+        long start = System.nanoTime();
+        System.out.println("main - Closing queue with " + obj.blockingQueue.size() + " elements in flight");
+        obj.blockingQueue.close();
 
+        t1.join();
+        t2.join();
+        t3.join();
+        System.out.println("main - Shutdown took "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
     }
 
 
@@ -0,0 +1,119 @@
+package com.github.java_threading.blocking_queue_impl;
+
+import java.util.Comparator;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Priority and Delay Queue Demo
+ *
+ * Example 1: BoundedPriorityBlockingQueue - high-priority jobs are served first
+ * Example 2: BoundedDelayQueue - retries are only handed out when they are due
+ */
+public class PriorityDelayQueueMain {
+
+    record Job(String name, int priority) {
+    }
+
+    /**
+     * A retry that becomes available at a fixed point in time
+     */
+    record Retry(String name, long dueAtNanos) implements Delayed {
+
+        static Retry after(String name, long delayMillis) {
+            return new Retry(name, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // Example 1: Priority queue
+        System.out.println("=== Example 1: Bounded Priority Queue ===");
+        priorityExample();
+
+        // Example 2: Delay queue
+        System.out.println("\n=== Example 2: Bounded Delay Queue ===");
+        delayExample();
+    }
+
+    public static void priorityExample() throws InterruptedException {
+        // Lower number = higher priority
+        BoundedPriorityBlockingQueue<Job> queue =
+                new BoundedPriorityBlockingQueue<>(4, Comparator.comparingInt(Job::priority));
+
+        Thread producer = new Thread(() -> {
+            int[] priorities = {5, 3, 9, 1, 7, 2, 8, 0};
+            for (int i = 0; i < priorities.length; i++) {
+                try {
+                    queue.put(new Job("job-" + i, priorities[i]));  // Blocks when 4 are queued
+                    System.out.println("Produced job-" + i + " (priority " + priorities[i] + ")");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "producer");
+
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < 8; i++) {
+                try {
+                    Thread.sleep(100);  // Slower consumption, queue fills up
+                    Job job = queue.take();
+                    System.out.println("Consumed " + job.name() + " (priority " + job.priority() + ")");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "consumer");
+
+        producer.start();
+        consumer.start();
+
+        producer.join();
+        consumer.join();
+    }
+
+    public static void delayExample() throws InterruptedException {
+        BoundedDelayQueue<Retry> queue = new BoundedDelayQueue<>(10);
+        long start = System.nanoTime();
+
+        // Inserted out of order; they come out in due order
+        queue.put(Retry.after("retry-A", 300));
+        queue.put(Retry.after("retry-B", 100));
+        queue.put(Retry.after("retry-C", 200));
+
+        Runnable consumerTask = () -> {
+            try {
+                Retry retry;
+                while ((retry = queue.poll(500, TimeUnit.MILLISECONDS)) != null) {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    System.out.println(Thread.currentThread().getName() + ": got " + retry.name() + " at ~" + elapsed + "ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread c1 = new Thread(consumerTask, "consumer-1");
+        Thread c2 = new Thread(consumerTask, "consumer-2");
+        c1.start();
+        c2.start();
+
+        // An urgent retry arriving later becomes the new head and wakes the leader
+        Thread.sleep(20);
+        queue.put(Retry.after("retry-URGENT", 30));
+
+        c1.join();
+        c2.join();
+    }
+}
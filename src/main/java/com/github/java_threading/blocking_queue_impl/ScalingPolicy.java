@@ -0,0 +1,49 @@
+package com.github.java_threading.blocking_queue_impl;
+
+/**
+ * When an ElasticConsumerGroup adds or retires consumer threads
+ *
+ * Scale UP when, for scaleUpAfterSamples samples in a row:
+ *   depth >= highWatermark, or depth > lowWatermark and avg latency > maxLatencyMillis
+ * Scale DOWN when, for scaleDownAfterSamples samples in a row:
+ *   depth <= lowWatermark
+ *
+ * Hysteresis comes from two places:
+ * - The gap between lowWatermark and highWatermark (no decision in between)
+ * - Requiring several consecutive samples, so one spike or one empty
+ *   moment does not flap the thread count
+ *
+ * @param minConsumers           threads that are always kept
+ * @param maxConsumers           hard upper bound
+ * @param highWatermark          queue depth that counts as "behind"
+ * @param lowWatermark           queue depth that counts as "idle"
+ * @param maxLatencyMillis       average handling time per element considered too slow
+ * @param scaleUpAfterSamples    consecutive "behind" samples before adding a thread
+ * @param scaleDownAfterSamples  consecutive "idle" samples before retiring a thread
+ * @param sampleIntervalMillis   how often the monitor looks at the queue
+ */
+public record ScalingPolicy(int minConsumers, int maxConsumers,
+                            int highWatermark, int lowWatermark, long maxLatencyMillis,
+                            int scaleUpAfterSamples, int scaleDownAfterSamples,
+                            long sampleIntervalMillis) {
+
+    public ScalingPolicy {
+        if (minConsumers < 1 || maxConsumers < minConsumers) {
+            throw new IllegalArgumentException("Need 1 <= minConsumers <= maxConsumers");
+        }
+        if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+            throw new IllegalArgumentException("Need 0 <= lowWatermark < highWatermark");
+        }
+        if (scaleUpAfterSamples < 1 || scaleDownAfterSamples < 1 || sampleIntervalMillis < 1) {
+            throw new IllegalArgumentException("Sample counts and interval must be positive");
+        }
+    }
+
+    /**
+     * Reasonable defaults: react to a burst in ~300ms, shrink after ~2s of quiet
+     */
+    public static ScalingPolicy of(int minConsumers, int maxConsumers, int highWatermark) {
+        return new ScalingPolicy(minConsumers, maxConsumers, highWatermark, highWatermark / 4,
+                50, 3, 20, 100);
+    }
+}
@@ -1,22 +1,25 @@
 package com.github.java_threading.compare_and_swap;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import com.github.java_threading.locks.spin_lock.SpinLock;
 
 public class CASMain {
 
-    AtomicBoolean isLocked = new AtomicBoolean(false);
+    // CAS spin lock: test-and-test-and-set, onSpinWait, backoff, then parks.
+    // The naive loop it replaces:
+    //     while (!isLocked.compareAndSet(false, true)) { }
+    // kept every waiter CASing the same cache line at full speed.
+    // See SpinLock and SpinLockBenchmark.
+    private final SpinLock lock = new SpinLock();
 
     private void doLock() {
-        // Spin until we successfully acquire the lock (change false to true)
-        while (!isLocked.compareAndSet(false, true)) {
-            // Keep trying until lock is acquired
-        }
+        // Spin until we successfully acquire the lock (CAS owner from null to us)
+        lock.lock();
         System.out.println("Lock acquired by thread - " + Thread.currentThread().getName());
     }
 
     private void doUnlock() {
-        // Release the lock by setting it back to false
-        isLocked.set(false);
+        // Release the lock by setting the owner back to null
+        lock.unlock();
         System.out.println("Lock released by thread - " + Thread.currentThread().getName());
     }
 
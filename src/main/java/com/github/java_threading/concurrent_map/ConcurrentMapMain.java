@@ -20,6 +20,15 @@ public class ConcurrentMapMain {
         System.out.println(cmap);
         cmap.computeIfPresent("3", (k, v) -> (v + "3"));
 
+        // Parallel bulk operations (see MapAggregations)
+        ConcurrentHashMap<String, Integer> scores = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            scores.put("player-" + i, i % 100);
+        }
+        System.out.println("Players per score bucket: " + MapAggregations.groupByCount(scores, 10_000,
+                (player, score) -> score / 25));
+        System.out.println("Total score: " + MapAggregations.sum(scores, 10_000, (player, score) -> score));
+
     }
 
 }
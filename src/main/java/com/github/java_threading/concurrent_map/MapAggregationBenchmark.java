@@ -0,0 +1,114 @@
+package com.github.java_threading.concurrent_map;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+
+/**
+ * MapAggregations across parallelism thresholds
+ *
+ * A map of orders (orderId -> Order) is aggregated with:
+ * - group-by-count  (orders per status)
+ * - sum-by-key      (revenue per customer)
+ * - top-N           (10 biggest orders)
+ * first with a plain sequential forEach (the old way), then with every
+ * helper at several parallelismThreshold values. All results are compared
+ * with the sequential ones.
+ *
+ * Usage: MapAggregationBenchmark [entries]
+ */
+public class MapAggregationBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final int TOP = 10;
+    private static final long[] THRESHOLDS = {MapAggregations.SEQUENTIAL, 1_000_000, 10_000, 100, MapAggregations.ALWAYS_PARALLEL};
+
+    enum Status { NEW, PAID, SHIPPED, CANCELLED }
+
+    record Order(int customerId, Status status, long amountCents) {
+    }
+
+    // Ties broken by id, so every threshold must return the very same list
+    private static final Comparator<Map.Entry<Long, Order>> BY_AMOUNT =
+            Comparator.<Map.Entry<Long, Order>>comparingLong(e -> e.getValue().amountCents())
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        ConcurrentHashMap<Long, Order> orders = new ConcurrentHashMap<>(entries * 2);
+        SplittableRandom random = new SplittableRandom(7);
+        Status[] statuses = Status.values();
+        for (long id = 0; id < entries; id++) {
+            orders.put(id, new Order(random.nextInt(10_000), statuses[random.nextInt(statuses.length)],
+                    random.nextLong(100, 1_000_000)));
+        }
+        System.out.printf("Entries: %,d, common pool parallelism: %d%n",
+                entries, ForkJoinPool.getCommonPoolParallelism());
+
+        // Baseline: what the code did before, sequential forEach into HashMaps
+        Map<Status, Long> expectedCounts = new HashMap<>();
+        Map<Integer, Long> expectedRevenue = new HashMap<>();
+        orders.forEach((id, order) -> {
+            expectedCounts.merge(order.status(), 1L, Long::sum);
+            expectedRevenue.merge(order.customerId(), order.amountCents(), Long::sum);
+        });
+        List<Map.Entry<Long, Order>> expectedTop = orders.entrySet().stream()
+                .sorted(BY_AMOUNT.reversed())
+                .limit(TOP)
+                .toList();
+
+        measure("forEach (old way)", t -> {
+            Map<Status, Long> counts = new HashMap<>();
+            orders.forEach((id, order) -> counts.merge(order.status(), 1L, Long::sum));
+            return counts;
+        }, expectedCounts, MapAggregations.SEQUENTIAL);
+
+        System.out.println("\n=== groupByCount (orders per status) ===");
+        for (long threshold : THRESHOLDS) {
+            measure("groupByCount", t -> MapAggregations.groupByCount(orders, t,
+                    (id, order) -> order.status()), expectedCounts, threshold);
+        }
+
+        System.out.println("\n=== sumByKey (revenue per customer) ===");
+        for (long threshold : THRESHOLDS) {
+            measure("sumByKey", t -> MapAggregations.sumByKey(orders, t,
+                    (id, order) -> order.customerId(), (id, order) -> order.amountCents()), expectedRevenue, threshold);
+        }
+
+        System.out.println("\n=== topN (" + TOP + " biggest orders) ===");
+        for (long threshold : THRESHOLDS) {
+            measure("topN", t -> MapAggregations.topN(orders, t, TOP, BY_AMOUNT),
+                    expectedTop, threshold);
+        }
+
+        System.out.println("\n=== findAny (a cancelled order of customer 42) ===");
+        for (long threshold : THRESHOLDS) {
+            measure("findAny", t -> MapAggregations.findAny(orders, t,
+                    (id, order) -> order.customerId() == 42 && order.status() == Status.CANCELLED)
+                    .map(e -> e.getValue().customerId()).orElse(-1), 42, threshold);
+        }
+    }
+
+    private static void measure(String name, LongFunction<Object> aggregation, Object expected, long threshold) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            Object result = aggregation.apply(threshold);
+            long elapsed = System.nanoTime() - start;
+            if (!expected.equals(result)) {
+                throw new IllegalStateException(name + " at threshold " + threshold + " gave a wrong result");
+            }
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        String label = threshold == MapAggregations.SEQUENTIAL ? "SEQUENTIAL" : String.valueOf(threshold);
+        System.out.printf("%-20s threshold %-12s %8.1f ms%n", name, label, best / 1e6);
+    }
+}
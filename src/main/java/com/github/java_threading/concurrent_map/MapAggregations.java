@@ -0,0 +1,174 @@
+package com.github.java_threading.concurrent_map;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Typed aggregations on top of ConcurrentHashMap's parallel bulk operations
+ *
+ * ConcurrentHashMap can split its own table across the common ForkJoinPool:
+ * - forEach(parallelismThreshold, action)
+ * - reduceToLong(parallelismThreshold, transformer, basis, reducer)
+ * - forEachEntry(parallelismThreshold, action)
+ * - search(parallelismThreshold, function)
+ *
+ * parallelismThreshold = the estimated number of entries below which an
+ * operation runs sequentially:
+ * - Long.MAX_VALUE (SEQUENTIAL)  -> never parallel
+ * - 1 (ALWAYS_PARALLEL)          -> split as much as possible
+ * - something like 10_000        -> parallel only for big maps
+ *
+ * Bulk operations are NOT snapshots: they see some concurrent updates and
+ * not others (weakly consistent). They never throw
+ * ConcurrentModificationException and need no external locking.
+ *
+ * The lambdas run on several threads at once: they must not depend on
+ * ordering or mutate shared state except through thread-safe objects.
+ */
+public final class MapAggregations {
+
+    public static final long SEQUENTIAL = Long.MAX_VALUE;
+    public static final long ALWAYS_PARALLEL = 1;
+
+    private MapAggregations() {
+    }
+
+    /**
+     * Number of entries per group, e.g. orders per status
+     */
+    public static <K, V, G> Map<G, Long> groupByCount(ConcurrentHashMap<K, V> map, long parallelismThreshold,
+                                                      BiFunction<? super K, ? super V, ? extends G> classifier) {
+        ConcurrentHashMap<G, LongAdder> counts = new ConcurrentHashMap<>();
+        map.forEach(parallelismThreshold, (k, v) -> adder(counts, classifier.apply(k, v)).increment());
+        return toLongMap(counts);
+    }
+
+    /**
+     * Sum of a long value per group, e.g. revenue per customer
+     */
+    public static <K, V, G> Map<G, Long> sumByKey(ConcurrentHashMap<K, V> map, long parallelismThreshold,
+                                                  BiFunction<? super K, ? super V, ? extends G> classifier,
+                                                  ToLongBiFunction<? super K, ? super V> value) {
+        ConcurrentHashMap<G, LongAdder> sums = new ConcurrentHashMap<>();
+        map.forEach(parallelismThreshold, (k, v) -> adder(sums, classifier.apply(k, v)).add(value.applyAsLong(k, v)));
+        return toLongMap(sums);
+    }
+
+    /**
+     * Sum of a long value over all entries, no boxing
+     */
+    public static <K, V> long sum(ConcurrentHashMap<K, V> map, long parallelismThreshold,
+                                  ToLongBiFunction<? super K, ? super V> value) {
+        return map.reduceToLong(parallelismThreshold, value::applyAsLong, 0L, Long::sum);
+    }
+
+    /**
+     * The n greatest entries by comparator, greatest first.
+     * The returned entries are immutable copies.
+     */
+    public static <K, V> List<Map.Entry<K, V>> topN(ConcurrentHashMap<K, V> map, long parallelismThreshold,
+                                                   int n, Comparator<? super Map.Entry<K, V>> comparator) {
+        if (n <= 0) {
+            return List.of();
+        }
+        // One heap per worker thread, touched only by that thread until forEachEntry returns
+        ConcurrentHashMap<Thread, TopN<K, V>> heaps = new ConcurrentHashMap<>();
+        map.forEachEntry(parallelismThreshold, entry -> {
+            TopN<K, V> heap = heaps.get(Thread.currentThread());
+            if (heap == null) {
+                heap = heaps.computeIfAbsent(Thread.currentThread(), thread -> new TopN<>(n, comparator));
+            }
+            heap.offer(entry);
+        });
+        TopN<K, V> top = new TopN<>(n, comparator);
+        for (TopN<K, V> heap : heaps.values()) {
+            top = top.merge(heap);
+        }
+        return top.toSortedList();
+    }
+
+    /**
+     * Any entry matching the predicate; stops all tasks as soon as one
+     * finds a match. Which entry is returned is not defined.
+     */
+    public static <K, V> Optional<Map.Entry<K, V>> findAny(ConcurrentHashMap<K, V> map, long parallelismThreshold,
+                                                          BiPredicate<? super K, ? super V> predicate) {
+        return Optional.ofNullable(map.<Map.Entry<K, V>>search(parallelismThreshold,
+                (k, v) -> predicate.test(k, v) ? new AbstractMap.SimpleImmutableEntry<>(k, v) : null));
+    }
+
+    private static <G> LongAdder adder(ConcurrentHashMap<G, LongAdder> adders, G group) {
+        LongAdder adder = adders.get(group);  // Existing groups: no bin lock
+        return adder != null ? adder : adders.computeIfAbsent(group, g -> new LongAdder());
+    }
+
+    private static <G> Map<G, Long> toLongMap(ConcurrentHashMap<G, LongAdder> adders) {
+        Map<G, Long> result = new HashMap<>();
+        adders.forEach((group, adder) -> result.put(group, adder.sum()));
+        return result;
+    }
+
+    /**
+     * Bounded min-heap holding the n greatest entries seen so far.
+     * offer() takes the map's live entry and copies it only if it makes it
+     * into the heap, so most entries cost one comparison and no allocation.
+     * merge() adds the smaller heap into the larger one and returns it.
+     */
+    private static final class TopN<K, V> {
+        private final int n;
+        private final Comparator<? super Map.Entry<K, V>> comparator;
+        private final PriorityQueue<Map.Entry<K, V>> heap;
+
+        TopN(int n, Comparator<? super Map.Entry<K, V>> comparator) {
+            this.n = n;
+            this.comparator = comparator;
+            this.heap = new PriorityQueue<>(comparator);
+        }
+
+        void offer(Map.Entry<K, V> liveEntry) {
+            if (accepts(liveEntry)) {
+                insert(new AbstractMap.SimpleImmutableEntry<>(liveEntry));
+            }
+        }
+
+        private boolean accepts(Map.Entry<K, V> entry) {
+            return heap.size() < n || comparator.compare(entry, heap.peek()) > 0;
+        }
+
+        private void insert(Map.Entry<K, V> entry) {
+            if (heap.size() == n) {
+                heap.poll();
+            }
+            heap.add(entry);
+        }
+
+        TopN<K, V> merge(TopN<K, V> other) {
+            if (other.heap.size() > heap.size()) {
+                return other.merge(this);
+            }
+            for (Map.Entry<K, V> entry : other.heap) {
+                if (accepts(entry)) {
+                    insert(entry);  // Already a copy
+                }
+            }
+            return this;
+        }
+
+        List<Map.Entry<K, V>> toSortedList() {
+            List<Map.Entry<K, V>> list = new ArrayList<>(heap);
+            list.sort(comparator.reversed());
+            return list;
+        }
+    }
+}
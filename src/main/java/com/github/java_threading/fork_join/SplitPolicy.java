@@ -0,0 +1,75 @@
+package com.github.java_threading.fork_join;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Decides when a fork/join task stops splitting and runs sequentially
+ *
+ * Too small leaves -> task creation/scheduling overhead dominates
+ * Too big leaves   -> not enough tasks for idle workers to steal
+ *
+ * Two strategies:
+ *
+ * 1. forSize(length, parallelism) - leaf size derived up front
+ *    leafSize = length / (parallelism * LEAVES_PER_WORKER)
+ *    so every worker gets ~8 leaves to balance uneven work,
+ *    but never below minLeafSize.
+ *
+ * 2. adaptive(minLeafSize) - decided at runtime
+ *    Keep splitting while this worker has only a few surplus tasks queued
+ *    (ForkJoinTask.getSurplusQueuedTaskCount() <= 3). If others are not
+ *    stealing, the local deque fills up and splitting stops by itself.
+ */
+public final class SplitPolicy {
+
+    public static final int DEFAULT_MIN_LEAF_SIZE = 1 << 12;
+    private static final int LEAVES_PER_WORKER = 8;
+    private static final int SURPLUS_LIMIT = 3;
+
+    private final int leafSize;     // 0 = adaptive
+    private final int minLeafSize;
+
+    private SplitPolicy(int leafSize, int minLeafSize) {
+        this.leafSize = leafSize;
+        this.minLeafSize = minLeafSize;
+    }
+
+    public static SplitPolicy fixed(int leafSize) {
+        if (leafSize <= 0) {
+            throw new IllegalArgumentException("leafSize must be positive");
+        }
+        return new SplitPolicy(leafSize, 1);
+    }
+
+    public static SplitPolicy forSize(int length, int parallelism) {
+        return forSize(length, parallelism, DEFAULT_MIN_LEAF_SIZE);
+    }
+
+    public static SplitPolicy forSize(int length, int parallelism, int minLeafSize) {
+        long leaves = (long) Math.max(1, parallelism) * LEAVES_PER_WORKER;
+        int derived = (int) ((length + leaves - 1) / leaves);
+        return new SplitPolicy(Math.max(minLeafSize, derived), minLeafSize);
+    }
+
+    public static SplitPolicy adaptive(int minLeafSize) {
+        return new SplitPolicy(0, Math.max(1, minLeafSize));
+    }
+
+    /**
+     * Must be called from inside a ForkJoinPool worker for the adaptive mode
+     */
+    public boolean shouldSplit(int length) {
+        if (length <= minLeafSize) {
+            return false;
+        }
+        if (leafSize > 0) {
+            return length > leafSize;
+        }
+        return ForkJoinTask.getSurplusQueuedTaskCount() <= SURPLUS_LIMIT;
+    }
+
+    @Override
+    public String toString() {
+        return leafSize > 0 ? "leafSize=" + leafSize : "adaptive(min=" + minLeafSize + ")";
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.java_threading.fork_join.arrays;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs body(chunk) for every chunk index in [0, chunks) on the common pool
+ *
+ * Used by the multi-phase kernels (radix sort, scan) where each phase is
+ * "do something independent per chunk" followed by a small sequential step.
+ * Chunk indices are split in halves like any other RecursiveAction, down
+ * to a single chunk per leaf.
+ */
+final class ChunkAction extends RecursiveAction {
+
+    private final int from;
+    private final int to;
+    private final IntConsumer body;
+
+    private ChunkAction(int from, int to, IntConsumer body) {
+        this.from = from;
+        this.to = to;
+        this.body = body;
+    }
+
+    static void forEachChunk(int chunks, IntConsumer body) {
+        if (chunks <= 0) {
+            return;
+        }
+        if (chunks == 1) {
+            body.accept(0);  // Nothing to parallelize, stay on the caller thread
+        } else {
+            ForkJoinPool.commonPool().invoke(new ChunkAction(0, chunks, body));
+        }
+    }
+
+    /**
+     * Enough chunks for work stealing to balance, but each at least minChunkSize long
+     */
+    static int chunkCount(int length, int minChunkSize) {
+        int byWorkers = ForkJoinPool.getCommonPoolParallelism() * 4;
+        int bySize = Math.max(1, length / minChunkSize);
+        return Math.max(1, Math.min(byWorkers, bySize));
+    }
+
+    static int chunkStart(int chunk, int chunks, int length) {
+        return (int) ((long) chunk * length / chunks);
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from == 1) {
+            body.accept(from);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        ChunkAction left = new ChunkAction(from, mid, body);
+        left.fork();
+        new ChunkAction(mid, to, body).compute();
+        left.join();
+    }
+}
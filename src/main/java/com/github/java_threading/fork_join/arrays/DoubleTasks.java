@@ -0,0 +1,236 @@
+package com.github.java_threading.fork_join.arrays;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+
+/**
+ * Fork/join tasks over double[] used by ParallelArrays
+ *
+ * Every leaf is a plain indexed loop over a primitive array: no boxing,
+ * no iterators, no streams. The operation is picked ONCE per leaf
+ * (switch outside the loop) so each loop stays tight enough for the JIT.
+ */
+final class DoubleTasks {
+
+    private DoubleTasks() {
+    }
+
+    enum Op { SUM, MIN, MAX, COUNT_IF }
+
+    /**
+     * sum / min / max / countIf in one task type
+     */
+    static final class Reduce extends RangeAction<Reduce> {
+        private final double[] array;
+        private final Op op;
+        private final DoublePredicate predicate;  // Only for COUNT_IF
+        double sum;
+        long count;                            // Only for COUNT_IF
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        Reduce(double[] array, int from, int to, SplitPolicy policy, Op op, DoublePredicate predicate) {
+            super(from, to, policy);
+            this.array = array;
+            this.op = op;
+            this.predicate = predicate;
+        }
+
+        @Override
+        void leaf(int from, int to) {
+            double[] a = array;
+            switch (op) {
+                case SUM -> {
+                    double s = 0;  // Plain summation, not compensated
+                    for (int i = from; i < to; i++) {
+                        s += a[i];
+                    }
+                    sum = s;
+                }
+                case MIN -> {
+                    double m = Double.POSITIVE_INFINITY;
+                    for (int i = from; i < to; i++) {
+                        m = Math.min(m, a[i]);
+                    }
+                    min = m;
+                }
+                case MAX -> {
+                    double m = Double.NEGATIVE_INFINITY;
+                    for (int i = from; i < to; i++) {
+                        m = Math.max(m, a[i]);
+                    }
+                    max = m;
+                }
+                case COUNT_IF -> {
+                    long c = 0;
+                    for (int i = from; i < to; i++) {
+                        if (predicate.test(a[i])) {
+                            c++;
+                        }
+                    }
+                    count = c;
+                }
+            }
+        }
+
+        @Override
+        Reduce subtask(int from, int to) {
+            return new Reduce(array, from, to, policy, op, predicate);
+        }
+
+        @Override
+        void merge(Reduce left, Reduce right) {
+            sum = left.sum + right.sum;
+            count = left.count + right.count;
+            min = Math.min(left.min, right.min);
+            max = Math.max(left.max, right.max);
+        }
+    }
+
+    /**
+     * Counts per bin over [low, high); values outside the range (and NaN) are ignored.
+     * One long[bins] per leaf, merged pairwise on the way up.
+     */
+    static final class Histogram extends RangeAction<Histogram> {
+        private final double[] array;
+        private final double low;
+        private final double high;
+        private final int bins;
+        long[] counts;
+
+        Histogram(double[] array, int from, int to, SplitPolicy policy, double low, double high, int bins) {
+            super(from, to, policy);
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.bins = bins;
+        }
+
+        @Override
+        void leaf(int from, int to) {
+            long[] c = new long[bins];
+            double scale = (double) bins / (high - low);
+            for (int i = from; i < to; i++) {
+                double v = array[i];
+                if (v >= low && v < high) {
+                    c[(int) Math.min(bins - 1, (v - low) * scale)]++;
+                }
+            }
+            counts = c;
+        }
+
+        @Override
+        Histogram subtask(int from, int to) {
+            return new Histogram(array, from, to, policy, low, high, bins);
+        }
+
+        @Override
+        void merge(Histogram left, Histogram right) {
+            long[] c = left.counts;  // Reuse the left array
+            for (int b = 0; b < bins; b++) {
+                c[b] += right.counts[b];
+            }
+            counts = c;
+        }
+    }
+
+    /**
+     * The k largest values. Each leaf keeps a min-heap of at most k values
+     * in a double[]: the root is the smallest of the current top-k, so a new
+     * value only enters if it beats the root. A leaf's heap is sized to its
+     * range, not to k, and grows (up to k) only as merges fill it.
+     */
+    static final class TopK extends RangeAction<TopK> {
+        private final double[] array;
+        private final int k;
+        double[] heap;
+        int size;
+
+        TopK(double[] array, int from, int to, SplitPolicy policy, int k) {
+            super(from, to, policy);
+            this.array = array;
+            this.k = k;
+        }
+
+        @Override
+        void leaf(int from, int to) {
+            heap = new double[Math.min(k, to - from)];  // A leaf never holds more than its range
+            for (int i = from; i < to; i++) {
+                offer(array[i]);
+            }
+        }
+
+        @Override
+        TopK subtask(int from, int to) {
+            return new TopK(array, from, to, policy, k);
+        }
+
+        @Override
+        void merge(TopK left, TopK right) {
+            TopK larger = left.size >= right.size ? left : right;
+            TopK smaller = larger == left ? right : left;
+            heap = larger.heap;  // Reused; offer() grows it up to k
+            size = larger.size;
+            for (int i = 0; i < smaller.size; i++) {
+                offer(smaller.heap[i]);
+            }
+        }
+
+        /**
+         * Largest first
+         */
+        double[] sortedDescending() {
+            double[] result = new double[size];
+            int n = size;
+            for (int i = n - 1; i >= 0; i--) {
+                result[i] = heap[0];  // Pop the smallest into the back
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void offer(double value) {
+            if (Double.isNaN(value)) {
+                return;  // NaN has no place in an ordering
+            }
+            if (size < k) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, Math.min(k, Math.max(1, 2 * size)));
+                }
+                int i = size++;
+                while (i > 0) {  // Sift up
+                    int parent = (i - 1) >>> 1;
+                    if (heap[parent] <= value) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = value;
+            } else if (k > 0 && value > heap[0]) {
+                heap[0] = value;
+                siftDown(0);
+            }
+        }
+
+        private void siftDown(int i) {
+            double value = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (value <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = value;
+        }
+    }
+}
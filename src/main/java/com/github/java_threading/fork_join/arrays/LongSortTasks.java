@@ -0,0 +1,212 @@
+package com.github.java_threading.fork_join.arrays;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorting kernels for long[] used by ParallelSort
+ */
+final class LongSortTasks {
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MIN_RADIX_CHUNK = 1 << 16;
+
+    private LongSortTasks() {
+    }
+
+    /**
+     * Parallel merge sort of a[from, to) using w as scratch
+     *
+     * "Ping-pong" buffers: the two halves are sorted INTO the other array,
+     * then merged back into the target, so there is no copy-back per level.
+     * Only a leaf whose result must end up in w pays one arraycopy.
+     */
+    static final class MergeSort extends RecursiveAction {
+        private final long[] a;
+        private final long[] w;
+        private final int from;
+        private final int to;
+        private final boolean intoA;  // Where the sorted range must end up
+        private final SplitPolicy policy;
+
+        MergeSort(long[] a, long[] w, int from, int to, boolean intoA, SplitPolicy policy) {
+            this.a = a;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+            this.intoA = intoA;
+            this.policy = policy;
+        }
+
+        @Override
+        protected void compute() {
+            int length = to - from;
+            if (!policy.shouldSplit(length)) {
+                Arrays.sort(a, from, to);
+                if (!intoA) {
+                    System.arraycopy(a, from, w, from, length);
+                }
+                return;
+            }
+            int mid = from + (length >>> 1);
+            MergeSort left = new MergeSort(a, w, from, mid, !intoA, policy);
+            left.fork();
+            new MergeSort(a, w, mid, to, !intoA, policy).compute();
+            left.join();
+
+            long[] src = intoA ? w : a;
+            long[] dst = intoA ? a : w;
+            new Merge(src, dst, from, mid, mid, to, from, policy).compute();
+        }
+    }
+
+    /**
+     * Parallel merge of src[lo1, hi1) and src[lo2, hi2) into dst starting at out
+     *
+     * Split the LONGER run at its middle element, binary-search that value
+     * in the other run, and the two halves can be merged independently.
+     */
+    static final class Merge extends RecursiveAction {
+        private final long[] src;
+        private final long[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final SplitPolicy policy;
+
+        Merge(long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int out, SplitPolicy policy) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.policy = policy;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (!policy.shouldSplit(n1 + n2)) {
+                mergeSequential();
+                return;
+            }
+            Merge left;
+            Merge right;
+            if (n1 >= n2) {
+                int mid1 = (lo1 + hi1) >>> 1;
+                int mid2 = lowerBound(src, lo2, hi2, src[mid1]);
+                int outMid = out + (mid1 - lo1) + (mid2 - lo2);
+                left = new Merge(src, dst, lo1, mid1, lo2, mid2, out, policy);
+                right = new Merge(src, dst, mid1, hi1, mid2, hi2, outMid, policy);
+            } else {
+                int mid2 = (lo2 + hi2) >>> 1;
+                int mid1 = upperBound(src, lo1, hi1, src[mid2]);  // Keeps the merge stable
+                int outMid = out + (mid1 - lo1) + (mid2 - lo2);
+                left = new Merge(src, dst, lo1, mid1, lo2, mid2, out, policy);
+                right = new Merge(src, dst, mid1, hi1, mid2, hi2, outMid, policy);
+            }
+            left.fork();
+            right.compute();
+            left.join();
+        }
+
+        private void mergeSequential() {
+            int i = lo1;
+            int j = lo2;
+            int k = out;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + (hi1 - i), hi2 - j);
+        }
+
+        // First index in [lo, hi) with src[index] >= key
+        private static int lowerBound(long[] src, int lo, int hi, long key) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (src[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // First index in [lo, hi) with src[index] > key
+        private static int upperBound(long[] src, int lo, int hi, long key) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (src[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Parallel LSD radix sort, 8 bits per pass (8 passes for long)
+     *
+     * Per pass, three phases:
+     * 1. (parallel)   each chunk counts its digits   -> counts[chunk][digit]
+     * 2. (sequential) turn counts into start offsets, digit-major then chunk,
+     *                 which keeps the sort stable
+     * 3. (parallel)   each chunk scatters its elements to its own offsets
+     *
+     * The sign bit is flipped on the top digit so negatives sort first.
+     * A pass whose digit is the same for every element is skipped.
+     */
+    static void radixSort(long[] a, long[] w) {
+        int length = a.length;
+        int chunks = ChunkAction.chunkCount(length, MIN_RADIX_CHUNK);
+        int[] counts = new int[chunks * BUCKETS];  // Reused by every pass
+
+        long[] src = a;
+        long[] dst = w;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            long[] source = src;
+            long[] target = dst;
+            int digitShift = shift;
+            int flip = shift + RADIX_BITS == Long.SIZE ? BUCKETS >>> 1 : 0;
+
+            Arrays.fill(counts, 0);
+            ChunkAction.forEachChunk(chunks, chunk -> {
+                int base = chunk * BUCKETS;
+                int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+                for (int i = ChunkAction.chunkStart(chunk, chunks, length); i < end; i++) {
+                    counts[base + ((int) (source[i] >>> digitShift) & (BUCKETS - 1) ^ flip)]++;
+                }
+            });
+
+            if (IntSortTasks.toOffsets(counts, chunks, length)) {
+                continue;  // Every element has the same digit: nothing moves
+            }
+
+            ChunkAction.forEachChunk(chunks, chunk -> {
+                int base = chunk * BUCKETS;
+                int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+                for (int i = ChunkAction.chunkStart(chunk, chunks, length); i < end; i++) {
+                    long v = source[i];
+                    target[counts[base + ((int) (v >>> digitShift) & (BUCKETS - 1) ^ flip)]++] = v;
+                }
+            });
+            src = target;
+            dst = source;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, length);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.java_threading.fork_join.arrays;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * Parallel reductions over primitive arrays on the common ForkJoinPool
+ *
+ * - sum, min, max, countIf, histogram, topK for int[], long[], double[]
+ * - No boxing, no streams: every leaf is an indexed loop and partial
+ *   results live in primitive fields of the tasks (see RangeAction)
+ * - Leaf size from SplitPolicy.forSize: ~8 leaves per worker
+ * - Arrays shorter than SEQUENTIAL_CUTOFF are reduced on the calling
+ *   thread, where fork/join overhead would cost more than it saves
+ *
+ * Notes:
+ * - sum(int[]) accumulates in a long, sum(long[]) wraps on overflow
+ * - sum(double[]) is plain (not compensated) summation, and the order of
+ *   additions depends on the split, so results can differ in the last bits
+ * - min/max of double[] follow Math.min/Math.max (NaN wins)
+ * - min/max of an empty array throw NoSuchElementException
+ */
+public final class ParallelArrays {
+
+    public static final int SEQUENTIAL_CUTOFF = 1 << 15;
+
+    private ParallelArrays() {
+    }
+
+    // ---------------------------------------------------------------- int[]
+
+    public static long sum(int[] array) {
+        return run(intReduce(array, IntTasks.Op.SUM, null)).sum;
+    }
+
+    public static int min(int[] array) {
+        requireNonEmpty(array.length);
+        return run(intReduce(array, IntTasks.Op.MIN, null)).min;
+    }
+
+    public static int max(int[] array) {
+        requireNonEmpty(array.length);
+        return run(intReduce(array, IntTasks.Op.MAX, null)).max;
+    }
+
+    public static long countIf(int[] array, IntPredicate predicate) {
+        return run(intReduce(array, IntTasks.Op.COUNT_IF, predicate)).sum;
+    }
+
+    /**
+     * Counts of values in [low, high) split into equal-width bins
+     */
+    public static long[] histogram(int[] array, int low, int high, int bins) {
+        checkHistogram(low < high, bins);
+        return run(new IntTasks.Histogram(array, 0, array.length, policy(array.length), low, high, bins)).counts;
+    }
+
+    /**
+     * The k largest values, largest first
+     */
+    public static int[] topK(int[] array, int k) {
+        checkK(k, array.length);
+        return run(new IntTasks.TopK(array, 0, array.length, policy(array.length), k)).sortedDescending();
+    }
+
+    private static IntTasks.Reduce intReduce(int[] array, IntTasks.Op op, IntPredicate predicate) {
+        return new IntTasks.Reduce(array, 0, array.length, policy(array.length), op, predicate);
+    }
+
+    // --------------------------------------------------------------- long[]
+
+    public static long sum(long[] array) {
+        return run(longReduce(array, LongTasks.Op.SUM, null)).sum;
+    }
+
+    public static long min(long[] array) {
+        requireNonEmpty(array.length);
+        return run(longReduce(array, LongTasks.Op.MIN, null)).min;
+    }
+
+    public static long max(long[] array) {
+        requireNonEmpty(array.length);
+        return run(longReduce(array, LongTasks.Op.MAX, null)).max;
+    }
+
+    public static long countIf(long[] array, LongPredicate predicate) {
+        return run(longReduce(array, LongTasks.Op.COUNT_IF, predicate)).sum;
+    }
+
+    public static long[] histogram(long[] array, long low, long high, int bins) {
+        checkHistogram(low < high, bins);
+        Math.subtractExact(high, low);  // Range width must fit in a long
+        return run(new LongTasks.Histogram(array, 0, array.length, policy(array.length), low, high, bins)).counts;
+    }
+
+    public static long[] topK(long[] array, int k) {
+        checkK(k, array.length);
+        return run(new LongTasks.TopK(array, 0, array.length, policy(array.length), k)).sortedDescending();
+    }
+
+    private static LongTasks.Reduce longReduce(long[] array, LongTasks.Op op, LongPredicate predicate) {
+        return new LongTasks.Reduce(array, 0, array.length, policy(array.length), op, predicate);
+    }
+
+    // ------------------------------------------------------------- double[]
+
+    public static double sum(double[] array) {
+        return run(doubleReduce(array, DoubleTasks.Op.SUM, null)).sum;
+    }
+
+    public static double min(double[] array) {
+        requireNonEmpty(array.length);
+        return run(doubleReduce(array, DoubleTasks.Op.MIN, null)).min;
+    }
+
+    public static double max(double[] array) {
+        requireNonEmpty(array.length);
+        return run(doubleReduce(array, DoubleTasks.Op.MAX, null)).max;
+    }
+
+    public static long countIf(double[] array, DoublePredicate predicate) {
+        return run(doubleReduce(array, DoubleTasks.Op.COUNT_IF, predicate)).count;
+    }
+
+    public static long[] histogram(double[] array, double low, double high, int bins) {
+        checkHistogram(low < high && Double.isFinite(high - low), bins);
+        return run(new DoubleTasks.Histogram(array, 0, array.length, policy(array.length), low, high, bins)).counts;
+    }
+
+    /**
+     * The k largest values, largest first (NaN is skipped)
+     */
+    public static double[] topK(double[] array, int k) {
+        checkK(k, array.length);
+        return run(new DoubleTasks.TopK(array, 0, array.length, policy(array.length), k)).sortedDescending();
+    }
+
+    private static DoubleTasks.Reduce doubleReduce(double[] array, DoubleTasks.Op op, DoublePredicate predicate) {
+        return new DoubleTasks.Reduce(array, 0, array.length, policy(array.length), op, predicate);
+    }
+
+    // -------------------------------------------------------------- helpers
+
+    private static SplitPolicy policy(int length) {
+        return SplitPolicy.forSize(length, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    private static <T extends RangeAction<T>> T run(T task) {
+        if (task.to - task.from < SEQUENTIAL_CUTOFF) {
+            task.leaf(task.from, task.to);  // Too small to be worth forking
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return task;
+    }
+
+    private static void requireNonEmpty(int length) {
+        if (length == 0) {
+            throw new NoSuchElementException("Empty array");
+        }
+    }
+
+    private static void checkHistogram(boolean validRange, int bins) {
+        if (!validRange) {
+            throw new IllegalArgumentException("Need low < high (and a finite width)");
+        }
+        if (bins <= 0) {
+            throw new IllegalArgumentException("bins must be positive");
+        }
+    }
+
+    private static void checkK(int k, int length) {
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException("k must be in [0, " + length + "]: " + k);
+        }
+    }
+}
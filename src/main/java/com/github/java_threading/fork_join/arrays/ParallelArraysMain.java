@@ -0,0 +1,77 @@
+package com.github.java_threading.fork_join.arrays;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * ParallelArrays Demo
+ *
+ * Runs every reduction on a large random array, checks it against a
+ * simple sequential version and prints the time taken.
+ *
+ * Usage: ParallelArraysMain [arrayLength]
+ */
+public class ParallelArraysMain {
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        System.out.println("Array length: " + length
+                + ", common pool parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+
+        int[] ints = ThreadLocalRandom.current().ints(length, 0, 1_000_000).toArray();
+        long[] longs = ThreadLocalRandom.current().longs(length, -1_000_000_000L, 1_000_000_000L).toArray();
+        double[] doubles = ThreadLocalRandom.current().doubles(length).toArray();
+
+        System.out.println("\n=== int[] ===");
+        check("sum", Arrays.stream(ints).asLongStream().sum(), timed("sum", () -> ParallelArrays.sum(ints)));
+        check("min", Arrays.stream(ints).min().getAsInt(), timed("min", () -> ParallelArrays.min(ints)));
+        check("max", Arrays.stream(ints).max().getAsInt(), timed("max", () -> ParallelArrays.max(ints)));
+        check("countIf", Arrays.stream(ints).filter(v -> v % 7 == 0).count(),
+                timed("countIf(v % 7 == 0)", () -> ParallelArrays.countIf(ints, v -> v % 7 == 0)));
+        long[] histogram = timed("histogram(10 bins)", () -> ParallelArrays.histogram(ints, 0, 1_000_000, 10));
+        System.out.println("    bins: " + Arrays.toString(histogram));
+        int[] top = timed("topK(5)", () -> ParallelArrays.topK(ints, 5));
+        int[] sorted = ints.clone();
+        Arrays.sort(sorted);
+        check("topK", sorted[length - 1], top[0]);
+        System.out.println("    top 5: " + Arrays.toString(top));
+
+        System.out.println("\n=== long[] ===");
+        check("sum", Arrays.stream(longs).sum(), timed("sum", () -> ParallelArrays.sum(longs)));
+        check("min", Arrays.stream(longs).min().getAsLong(), timed("min", () -> ParallelArrays.min(longs)));
+        check("max", Arrays.stream(longs).max().getAsLong(), timed("max", () -> ParallelArrays.max(longs)));
+        check("countIf", Arrays.stream(longs).filter(v -> v < 0).count(),
+                timed("countIf(v < 0)", () -> ParallelArrays.countIf(longs, v -> v < 0)));
+        System.out.println("    top 3: " + Arrays.toString(timed("topK(3)", () -> ParallelArrays.topK(longs, 3))));
+
+        System.out.println("\n=== double[] ===");
+        double expectedSum = Arrays.stream(doubles).sum();
+        double sum = timed("sum", () -> ParallelArrays.sum(doubles));
+        System.out.printf("    sum = %.4f (sequential %.4f)%n", sum, expectedSum);
+        check("min", Arrays.stream(doubles).min().getAsDouble(), timed("min", () -> ParallelArrays.min(doubles)));
+        check("max", Arrays.stream(doubles).max().getAsDouble(), timed("max", () -> ParallelArrays.max(doubles)));
+        check("countIf", Arrays.stream(doubles).filter(v -> v > 0.5).count(),
+                timed("countIf(v > 0.5)", () -> ParallelArrays.countIf(doubles, v -> v > 0.5)));
+        System.out.println("    bins: " + Arrays.toString(
+                timed("histogram(4 bins)", () -> ParallelArrays.histogram(doubles, 0.0, 1.0, 4))));
+    }
+
+    private static <T> T timed(String name, Supplier<T> operation) {
+        // A few warm-up calls so the timing is of JIT-compiled code
+        for (int i = 0; i < 3; i++) {
+            operation.get();
+        }
+        long start = System.nanoTime();
+        T result = operation.get();
+        System.out.printf("%-22s %8.2f ms%n", name, (System.nanoTime() - start) / 1e6);
+        return result;
+    }
+
+    private static void check(String name, Object expected, Object actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(name + ": expected " + expected + " but got " + actual);
+        }
+    }
+}
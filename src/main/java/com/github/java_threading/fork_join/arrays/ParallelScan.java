@@ -0,0 +1,195 @@
+package com.github.java_threading.fork_join.arrays;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Parallel prefix scan (in place) for int[], long[], double[]
+ *
+ * inclusive: a[i] = a[0] op a[1] op ... op a[i]       (like Arrays.parallelPrefix)
+ * exclusive: a[i] = identity op a[0] op ... op a[i-1]
+ *
+ * Two-pass algorithm over C chunks:
+ * 1. (parallel)   reduce every chunk except the last -> totals[c]
+ * 2. (sequential) prefix over the C totals           -> seed of every chunk
+ * 3. (parallel)   scan every chunk starting from its seed
+ * Every element is read twice and written once; step 2 is only C operations.
+ *
+ * op must be associative (the chunks are combined in a different grouping
+ * than a left-to-right loop). For double addition this means results can
+ * differ from a sequential loop in the last bits.
+ */
+public final class ParallelScan {
+
+    private static final int MIN_SCAN_CHUNK = 1 << 14;
+
+    private ParallelScan() {
+    }
+
+    // ---------------------------------------------------------------- int[]
+
+    public static void inclusiveScan(int[] a, IntBinaryOperator op) {
+        scan(a, 0, op, true);
+    }
+
+    public static void exclusiveScan(int[] a, int identity, IntBinaryOperator op) {
+        scan(a, identity, op, false);
+    }
+
+    private static void scan(int[] a, int identity, IntBinaryOperator op, boolean inclusive) {
+        int length = a.length;
+        int chunks = chunks(length);
+        int[] seeds = new int[chunks];
+
+        ChunkAction.forEachChunk(chunks - 1, chunk -> {
+            int from = ChunkAction.chunkStart(chunk, chunks, length);
+            int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+            int total = a[from];
+            for (int i = from + 1; i < end; i++) {
+                total = op.applyAsInt(total, a[i]);
+            }
+            seeds[chunk + 1] = total;  // Shifted by one: total of chunk c seeds chunk c + 1
+        });
+
+        seeds[0] = identity;
+        for (int c = 1; c < chunks; c++) {
+            seeds[c] = (c == 1 && inclusive) ? seeds[1] : op.applyAsInt(seeds[c - 1], seeds[c]);
+        }
+
+        ChunkAction.forEachChunk(chunks, chunk -> {
+            int from = ChunkAction.chunkStart(chunk, chunks, length);
+            int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+            if (from == end) {
+                return;
+            }
+            if (inclusive) {
+                int running = chunk == 0 ? a[from] : op.applyAsInt(seeds[chunk], a[from]);
+                a[from] = running;
+                for (int i = from + 1; i < end; i++) {
+                    running = op.applyAsInt(running, a[i]);
+                    a[i] = running;
+                }
+            } else {
+                int running = seeds[chunk];
+                for (int i = from; i < end; i++) {
+                    int value = a[i];
+                    a[i] = running;
+                    running = op.applyAsInt(running, value);
+                }
+            }
+        });
+    }
+
+    // --------------------------------------------------------------- long[]
+
+    public static void inclusiveScan(long[] a, LongBinaryOperator op) {
+        scan(a, 0L, op, true);
+    }
+
+    public static void exclusiveScan(long[] a, long identity, LongBinaryOperator op) {
+        scan(a, identity, op, false);
+    }
+
+    private static void scan(long[] a, long identity, LongBinaryOperator op, boolean inclusive) {
+        int length = a.length;
+        int chunks = chunks(length);
+        long[] seeds = new long[chunks];
+
+        ChunkAction.forEachChunk(chunks - 1, chunk -> {
+            int from = ChunkAction.chunkStart(chunk, chunks, length);
+            int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+            long total = a[from];
+            for (int i = from + 1; i < end; i++) {
+                total = op.applyAsLong(total, a[i]);
+            }
+            seeds[chunk + 1] = total;
+        });
+
+        seeds[0] = identity;
+        for (int c = 1; c < chunks; c++) {
+            seeds[c] = (c == 1 && inclusive) ? seeds[1] : op.applyAsLong(seeds[c - 1], seeds[c]);
+        }
+
+        ChunkAction.forEachChunk(chunks, chunk -> {
+            int from = ChunkAction.chunkStart(chunk, chunks, length);
+            int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+            if (from == end) {
+                return;
+            }
+            if (inclusive) {
+                long running = chunk == 0 ? a[from] : op.applyAsLong(seeds[chunk], a[from]);
+                a[from] = running;
+                for (int i = from + 1; i < end; i++) {
+                    running = op.applyAsLong(running, a[i]);
+                    a[i] = running;
+                }
+            } else {
+                long running = seeds[chunk];
+                for (int i = from; i < end; i++) {
+                    long value = a[i];
+                    a[i] = running;
+                    running = op.applyAsLong(running, value);
+                }
+            }
+        });
+    }
+
+    // ------------------------------------------------------------- double[]
+
+    public static void inclusiveScan(double[] a, DoubleBinaryOperator op) {
+        scan(a, 0.0, op, true);
+    }
+
+    public static void exclusiveScan(double[] a, double identity, DoubleBinaryOperator op) {
+        scan(a, identity, op, false);
+    }
+
+    private static void scan(double[] a, double identity, DoubleBinaryOperator op, boolean inclusive) {
+        int length = a.length;
+        int chunks = chunks(length);
+        double[] seeds = new double[chunks];
+
+        ChunkAction.forEachChunk(chunks - 1, chunk -> {
+            int from = ChunkAction.chunkStart(chunk, chunks, length);
+            int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+            double total = a[from];
+            for (int i = from + 1; i < end; i++) {
+                total = op.applyAsDouble(total, a[i]);
+            }
+            seeds[chunk + 1] = total;
+        });
+
+        seeds[0] = identity;
+        for (int c = 1; c < chunks; c++) {
+            seeds[c] = (c == 1 && inclusive) ? seeds[1] : op.applyAsDouble(seeds[c - 1], seeds[c]);
+        }
+
+        ChunkAction.forEachChunk(chunks, chunk -> {
+            int from = ChunkAction.chunkStart(chunk, chunks, length);
+            int end = ChunkAction.chunkStart(chunk + 1, chunks, length);
+            if (from == end) {
+                return;
+            }
+            if (inclusive) {
+                double running = chunk == 0 ? a[from] : op.applyAsDouble(seeds[chunk], a[from]);
+                a[from] = running;
+                for (int i = from + 1; i < end; i++) {
+                    running = op.applyAsDouble(running, a[i]);
+                    a[i] = running;
+                }
+            } else {
+                double running = seeds[chunk];
+                for (int i = from; i < end; i++) {
+                    double value = a[i];
+                    a[i] = running;
+                    running = op.applyAsDouble(running, value);
+                }
+            }
+        });
+    }
+
+    private static int chunks(int length) {
+        return length < ParallelArrays.SEQUENTIAL_CUTOFF ? 1 : ChunkAction.chunkCount(length, MIN_SCAN_CHUNK);
+    }
+}
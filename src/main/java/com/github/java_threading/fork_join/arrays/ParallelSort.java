@@ -0,0 +1,87 @@
+package com.github.java_threading.fork_join.arrays;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel sorting of int[] / long[] on the common ForkJoinPool
+ *
+ * - mergeSort: fork/join merge sort with a parallel merge
+ * - radixSort: LSD radix sort, 8 bits per pass, parallel count + scatter
+ *
+ * Both need a scratch array as long as the input. Pass one in to reuse
+ * it across calls (batch jobs sorting many arrays of similar size), or
+ * use the overloads without it and one is allocated per call.
+ *
+ * Arrays shorter than ParallelArrays.SEQUENTIAL_CUTOFF are sorted with
+ * Arrays.sort on the calling thread.
+ */
+public final class ParallelSort {
+
+    private ParallelSort() {
+    }
+
+    public static void mergeSort(int[] a) {
+        mergeSort(a, new int[a.length]);
+    }
+
+    public static void mergeSort(int[] a, int[] scratch) {
+        checkScratch(a.length, scratch.length);
+        if (a.length < ParallelArrays.SEQUENTIAL_CUTOFF) {
+            Arrays.sort(a);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new IntSortTasks.MergeSort(a, scratch, 0, a.length, true, policy(a.length)));
+    }
+
+    public static void mergeSort(long[] a) {
+        mergeSort(a, new long[a.length]);
+    }
+
+    public static void mergeSort(long[] a, long[] scratch) {
+        checkScratch(a.length, scratch.length);
+        if (a.length < ParallelArrays.SEQUENTIAL_CUTOFF) {
+            Arrays.sort(a);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new LongSortTasks.MergeSort(a, scratch, 0, a.length, true, policy(a.length)));
+    }
+
+    public static void radixSort(int[] a) {
+        radixSort(a, new int[a.length]);
+    }
+
+    public static void radixSort(int[] a, int[] scratch) {
+        checkScratch(a.length, scratch.length);
+        if (a.length < ParallelArrays.SEQUENTIAL_CUTOFF) {
+            Arrays.sort(a);
+            return;
+        }
+        IntSortTasks.radixSort(a, scratch);
+    }
+
+    public static void radixSort(long[] a) {
+        radixSort(a, new long[a.length]);
+    }
+
+    public static void radixSort(long[] a, long[] scratch) {
+        checkScratch(a.length, scratch.length);
+        if (a.length < ParallelArrays.SEQUENTIAL_CUTOFF) {
+            Arrays.sort(a);
+            return;
+        }
+        LongSortTasks.radixSort(a, scratch);
+    }
+
+    private static SplitPolicy policy(int length) {
+        return SplitPolicy.forSize(length, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    private static void checkScratch(int length, int scratchLength) {
+        if (scratchLength < length) {
+            throw new IllegalArgumentException("Scratch array too small: " + scratchLength + " < " + length);
+        }
+    }
+}
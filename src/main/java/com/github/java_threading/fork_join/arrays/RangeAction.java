@@ -0,0 +1,59 @@
+package com.github.java_threading.fork_join.arrays;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join action over an index range that keeps its result in FIELDS
+ *
+ * DivideAndConquerTask returns a boxed R from every task. For primitive
+ * reductions over hundreds of millions of elements we want no boxing at
+ * all, so each task stores its partial result in primitive fields and
+ * the parent merges the two children's fields into its own.
+ *
+ * Same split pattern as DivideAndConquerTask: fork the left half,
+ * compute the right half in the current thread, join the left.
+ */
+abstract class RangeAction<T extends RangeAction<T>> extends RecursiveAction {
+
+    final int from;
+    final int to;
+    final SplitPolicy policy;
+
+    RangeAction(int from, int to, SplitPolicy policy) {
+        this.from = from;
+        this.to = to;
+        this.policy = policy;
+    }
+
+    /**
+     * Sequential work on [from, to), result goes into this task's fields
+     */
+    abstract void leaf(int from, int to);
+
+    abstract T subtask(int from, int to);
+
+    /**
+     * Combine the children's results into this task's fields
+     */
+    abstract void merge(T left, T right);
+
+    @Override
+    protected final void compute() {
+        int length = to - from;
+        if (!policy.shouldSplit(length)) {
+            leaf(from, to);
+            return;
+        }
+        int mid = from + (length >>> 1);
+        T left = subtask(from, mid);
+        T right = subtask(mid, to);
+
+        left.fork();
+        right.compute();  // Plain method call, no scheduling
+        left.join();
+
+        merge(left, right);
+    }
+}
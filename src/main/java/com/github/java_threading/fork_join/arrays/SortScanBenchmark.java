@@ -0,0 +1,106 @@
+package com.github.java_threading.fork_join.arrays;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * ParallelSort / ParallelScan vs the JDK
+ *
+ * Sort: Arrays.sort, Arrays.parallelSort, mergeSort, radixSort
+ * Scan: sequential loop, Arrays.parallelPrefix, inclusiveScan
+ *
+ * Every run works on a fresh copy of the same random input, and every
+ * result is compared with the JDK's. The scratch buffers are allocated
+ * once and reused for all runs, as a batch job would.
+ *
+ * Usage: SortScanBenchmark [arrayLength]
+ */
+public class SortScanBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        System.out.println("Array length: " + length
+                + ", common pool parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+
+        int[] ints = ThreadLocalRandom.current().ints(length).toArray();
+        int[] intScratch = new int[length];
+        int[] expectedInts = ints.clone();
+        Arrays.sort(expectedInts);
+
+        System.out.println("\n=== Sort int[] ===");
+        measure("Arrays.sort", ints, expectedInts, Arrays::sort);
+        measure("Arrays.parallelSort", ints, expectedInts, Arrays::parallelSort);
+        measure("ParallelSort.mergeSort", ints, expectedInts, a -> ParallelSort.mergeSort(a, intScratch));
+        measure("ParallelSort.radixSort", ints, expectedInts, a -> ParallelSort.radixSort(a, intScratch));
+
+        long[] longs = ThreadLocalRandom.current().longs(length).toArray();
+        long[] longScratch = new long[length];
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedLongs);
+
+        System.out.println("\n=== Sort long[] ===");
+        measure("Arrays.sort", longs, expectedLongs, Arrays::sort);
+        measure("Arrays.parallelSort", longs, expectedLongs, Arrays::parallelSort);
+        measure("ParallelSort.mergeSort", longs, expectedLongs, a -> ParallelSort.mergeSort(a, longScratch));
+        measure("ParallelSort.radixSort", longs, expectedLongs, a -> ParallelSort.radixSort(a, longScratch));
+
+        long[] values = ThreadLocalRandom.current().longs(length, 0, 1_000).toArray();
+        long[] expectedPrefix = values.clone();
+        Arrays.parallelPrefix(expectedPrefix, Long::sum);
+
+        System.out.println("\n=== Inclusive scan long[] (sum) ===");
+        measure("sequential loop", values, expectedPrefix, a -> {
+            for (int i = 1; i < a.length; i++) {
+                a[i] += a[i - 1];
+            }
+        });
+        measure("Arrays.parallelPrefix", values, expectedPrefix, a -> Arrays.parallelPrefix(a, Long::sum));
+        measure("ParallelScan.inclusiveScan", values, expectedPrefix, a -> ParallelScan.inclusiveScan(a, Long::sum));
+
+        long[] expectedExclusive = new long[length];
+        for (int i = 1; i < length; i++) {
+            expectedExclusive[i] = expectedPrefix[i - 1];
+        }
+        measure("ParallelScan.exclusiveScan", values, expectedExclusive,
+                a -> ParallelScan.exclusiveScan(a, 0L, Long::sum));
+    }
+
+    private static void measure(String name, int[] input, int[] expected, Consumer<int[]> operation) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            int[] copy = input.clone();
+            long start = System.nanoTime();
+            operation.accept(copy);
+            long elapsed = System.nanoTime() - start;
+            if (!Arrays.equals(expected, copy)) {
+                throw new IllegalStateException(name + " produced a wrong result");
+            }
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("%-30s %8.2f ms%n", name, best / 1e6);
+    }
+
+    private static void measure(String name, long[] input, long[] expected, Consumer<long[]> operation) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long[] copy = input.clone();
+            long start = System.nanoTime();
+            operation.accept(copy);
+            long elapsed = System.nanoTime() - start;
+            if (!Arrays.equals(expected, copy)) {
+                throw new IllegalStateException(name + " produced a wrong result");
+            }
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("%-30s %8.2f ms%n", name, best / 1e6);
+    }
+}
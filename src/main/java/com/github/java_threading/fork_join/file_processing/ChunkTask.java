@@ -0,0 +1,79 @@
+package com.github.java_threading.fork_join.file_processing;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+import com.github.java_threading.fork_join.recursive_task.DivideAndConquerTask;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Processes chunks [from, to) of the file, the range is over chunk indexes
+ *
+ * Chunk i is the bytes [boundaries[i], boundaries[i + 1]) of the file,
+ * and every boundary is the start of a line, so a leaf never sees half
+ * a line. A leaf maps each of its chunks on its own (a chunk is always
+ * below 2 GB) and scans it for '\n'.
+ */
+class ChunkTask<A> extends DivideAndConquerTask<A> {
+
+    private final FileChannel channel;
+    private final long[] boundaries;
+    private final LineCollector<A> collector;
+
+    ChunkTask(FileChannel channel, long[] boundaries, LineCollector<A> collector,
+              int from, int to, SplitPolicy policy) {
+        super(from, to, policy);
+        this.channel = channel;
+        this.boundaries = boundaries;
+        this.collector = collector;
+    }
+
+    @Override
+    protected A computeLeaf(int from, int to) {
+        A accumulator = collector.newAccumulator();
+        for (int chunk = from; chunk < to; chunk++) {
+            long position = boundaries[chunk];
+            int size = (int) (boundaries[chunk + 1] - position);
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            scanLines(buffer, size, accumulator);
+        }
+        return accumulator;
+    }
+
+    private void scanLines(MappedByteBuffer buffer, int size, A accumulator) {
+        int lineStart = 0;
+        for (int i = 0; i < size; i++) {
+            if (buffer.get(i) == '\n') {
+                emit(buffer, lineStart, i, accumulator);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < size) {
+            emit(buffer, lineStart, size, accumulator);  // Last line without '\n'
+        }
+    }
+
+    private void emit(MappedByteBuffer buffer, int start, int end, A accumulator) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        collector.accept(accumulator, buffer, start, end);
+    }
+
+    @Override
+    protected DivideAndConquerTask<A> createSubtask(int from, int to) {
+        return new ChunkTask<>(channel, boundaries, collector, from, to, policy);
+    }
+
+    @Override
+    protected A combine(A left, A right) {
+        return collector.combine(left, right);
+    }
+}
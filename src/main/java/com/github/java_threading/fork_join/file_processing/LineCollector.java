@@ -0,0 +1,58 @@
+package com.github.java_threading.fork_join.file_processing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * What MappedFileProcessor does with the lines, in the spirit of a
+ * stream Collector:
+ * - supplier  - a fresh accumulator per leaf task (never shared)
+ * - handler   - adds one line to the accumulator
+ * - combiner  - merges two accumulators, left part of the file first
+ *
+ * Accumulators are confined to one task, so they need no synchronization.
+ */
+public final class LineCollector<A> {
+
+    private final Supplier<A> supplier;
+    private final LineHandler<A> handler;
+    private final BinaryOperator<A> combiner;
+
+    private LineCollector(Supplier<A> supplier, LineHandler<A> handler, BinaryOperator<A> combiner) {
+        this.supplier = supplier;
+        this.handler = handler;
+        this.combiner = combiner;
+    }
+
+    public static <A> LineCollector<A> of(Supplier<A> supplier, LineHandler<A> handler, BinaryOperator<A> combiner) {
+        return new LineCollector<>(supplier, handler, combiner);
+    }
+
+    /**
+     * Convenience for when a String per line is really wanted.
+     * Decoding costs an allocation and a copy per line.
+     */
+    public static <A> LineCollector<A> ofStrings(Charset charset, Supplier<A> supplier,
+                                                 BiConsumer<A, String> consumer, BinaryOperator<A> combiner) {
+        return new LineCollector<>(supplier, (accumulator, buffer, start, end) -> {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            consumer.accept(accumulator, new String(bytes, charset));
+        }, combiner);
+    }
+
+    A newAccumulator() {
+        return supplier.get();
+    }
+
+    void accept(A accumulator, ByteBuffer buffer, int start, int end) {
+        handler.onLine(accumulator, buffer, start, end);
+    }
+
+    A combine(A left, A right) {
+        return combiner.apply(left, right);
+    }
+}
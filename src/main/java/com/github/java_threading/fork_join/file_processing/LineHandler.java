@@ -0,0 +1,19 @@
+package com.github.java_threading.fork_join.file_processing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Called once per line with the raw bytes, no String is created
+ *
+ * The line is bytes[start, end) of the buffer, without the '\n' (and
+ * without a '\r' before it). Read it with absolute gets, e.g.
+ * buffer.get(start). The buffer is shared by every line of the chunk:
+ * don't change its position/limit and don't keep it after the call.
+ *
+ * @param <A> the per-chunk accumulator the line is added to
+ */
+@FunctionalInterface
+public interface LineHandler<A> {
+
+    void onLine(A accumulator, ByteBuffer buffer, int start, int end);
+}
@@ -0,0 +1,196 @@
+package com.github.java_threading.fork_join.file_processing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log Scan Demo
+ *
+ * Generates a log file (or uses the one given), then counts lines per
+ * level and sums the "took=<n>ms" values three ways:
+ * 1. One thread, BufferedReader.readLine()       - a String per line
+ * 2. MappedFileProcessor, LineCollector.ofStrings - parallel, String per line
+ * 3. MappedFileProcessor, raw bytes              - parallel, no allocation per line
+ *
+ * Usage: LogScanMain [sizeInMb | path/to/existing.log]
+ */
+public class LogScanMain {
+
+    private static final String[] LEVELS = {"DEBUG", "INFO", "WARN", "ERROR"};
+
+    /**
+     * Per-chunk accumulator: plain fields, one instance per leaf task
+     */
+    static final class LogStats {
+        final long[] countPerLevel = new long[LEVELS.length];
+        long totalMillis;
+
+        static LogStats merge(LogStats left, LogStats right) {
+            for (int i = 0; i < LEVELS.length; i++) {
+                left.countPerLevel[i] += right.countPerLevel[i];
+            }
+            left.totalMillis += right.totalMillis;
+            return left;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < LEVELS.length; i++) {
+                sb.append(LEVELS[i]).append('=').append(countPerLevel[i]).append(' ');
+            }
+            return sb.append("totalMillis=").append(totalMillis).toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LogStats other
+                    && Arrays.equals(countPerLevel, other.countPerLevel)
+                    && totalMillis == other.totalMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(countPerLevel) * 31 + Long.hashCode(totalMillis);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file;
+        boolean generated = args.length == 0 || args[0].chars().allMatch(Character::isDigit);
+        if (generated) {
+            int sizeInMb = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+            file = Files.createTempFile("log-scan", ".log");
+            System.out.println("Generating " + sizeInMb + " MB of log lines...");
+            generate(file, sizeInMb * (1L << 20));
+        } else {
+            file = Path.of(args[0]);
+        }
+        System.out.printf("File: %s (%d MB), pool parallelism: %d%n",
+                file, Files.size(file) >> 20, ForkJoinPool.getCommonPoolParallelism());
+
+        try {
+            for (int run = 0; run < 3; run++) {
+                System.out.println("\n--- Run " + (run + 1) + " ---");
+
+                long start = System.nanoTime();
+                LogStats sequential = scanWithReader(file);
+                report("BufferedReader (1 thread)", start, sequential);
+
+                start = System.nanoTime();
+                LogStats strings = MappedFileProcessor.process(file, LineCollector.ofStrings(
+                        StandardCharsets.UTF_8, LogStats::new, LogScanMain::addLine, LogStats::merge));
+                report("mapped, String per line", start, strings);
+
+                start = System.nanoTime();
+                LogStats raw = MappedFileProcessor.process(file, LineCollector.of(
+                        LogStats::new, LogScanMain::addLine, LogStats::merge));
+                report("mapped, raw bytes", start, raw);
+
+                if (!sequential.equals(strings) || !sequential.equals(raw)) {
+                    throw new IllegalStateException("Results differ");
+                }
+            }
+        } finally {
+            if (generated) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void report(String name, long start, LogStats stats) {
+        System.out.printf("%-28s %8.1f ms  %s%n", name, (System.nanoTime() - start) / 1e6, stats);
+    }
+
+    private static LogStats scanWithReader(Path file) throws IOException {
+        LogStats stats = new LogStats();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                addLine(stats, line);
+            }
+        }
+        return stats;
+    }
+
+    // Line format: "<timestamp> <LEVEL> <thread> <message> took=<n>ms"
+
+    private static void addLine(LogStats stats, String line) {
+        int levelStart = line.indexOf(' ') + 1;
+        int levelEnd = line.indexOf(' ', levelStart);
+        if (levelStart == 0 || levelEnd < 0) {
+            return;
+        }
+        String level = line.substring(levelStart, levelEnd);
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) {
+                stats.countPerLevel[i]++;
+            }
+        }
+        int took = line.lastIndexOf("took=");
+        if (took >= 0) {
+            stats.totalMillis += Long.parseLong(line, took + 5, line.length() - 2, 10);
+        }
+    }
+
+    private static void addLine(LogStats stats, ByteBuffer buffer, int start, int end) {
+        int levelStart = indexOf(buffer, (byte) ' ', start, end) + 1;
+        if (levelStart == 0) {
+            return;
+        }
+        // First letter is enough: D, I, W, E
+        switch (buffer.get(levelStart)) {
+            case 'D' -> stats.countPerLevel[0]++;
+            case 'I' -> stats.countPerLevel[1]++;
+            case 'W' -> stats.countPerLevel[2]++;
+            case 'E' -> stats.countPerLevel[3]++;
+            default -> {
+            }
+        }
+        // Parse the digits backwards from the trailing "ms"
+        long value = 0;
+        long multiplier = 1;
+        for (int i = end - 3; i >= start; i--) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value += (b - '0') * multiplier;
+            multiplier *= 10;
+        }
+        stats.totalMillis += value;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void generate(Path file, long size) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long written = 0;
+        long timestamp = 1_700_000_000_000L;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (written < size) {
+                String line = timestamp++ + " " + LEVELS[random.nextInt(LEVELS.length)]
+                        + " worker-" + random.nextInt(16)
+                        + " processed request " + random.nextInt(1_000_000)
+                        + " took=" + random.nextInt(500) + "ms\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.java_threading.fork_join.file_processing;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Processes a (multi-GB) text file line by line on a ForkJoinPool
+ *
+ * 1. Cut the file into chunks of ~chunkSize bytes. Every cut is moved
+ *    forward to just after the next '\n', so chunks hold whole lines.
+ *    Only a few bytes around each cut are read for this.
+ * 2. A ChunkTask splits the chunk list like any DivideAndConquerTask;
+ *    each leaf memory-maps its chunks (FileChannel.map) and calls the
+ *    LineHandler for every line, straight on the mapped bytes.
+ * 3. Per-leaf accumulators are combined pairwise up the task tree, in
+ *    file order.
+ *
+ * Files over 2 GB: a MappedByteBuffer is limited to 2 GB, so the file is
+ * never mapped as a whole; every chunk is mapped on its own. The only
+ * limit is that a single line must fit in 2 GB.
+ *
+ * The mappings are released when the buffers are garbage collected
+ * (there is no unmap call for MappedByteBuffer).
+ */
+public final class MappedFileProcessor {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+    private static final int SCAN_BUFFER_SIZE = 8 << 10;
+
+    private MappedFileProcessor() {
+    }
+
+    public static <A> A process(Path file, LineCollector<A> collector) throws IOException {
+        return process(file, collector, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public static <A> A process(Path file, LineCollector<A> collector,
+                                ForkJoinPool pool, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = boundaries(channel, chunkSize);
+            int chunks = boundaries.length - 1;
+            if (chunks == 0) {
+                return collector.newAccumulator();  // Empty file
+            }
+            // One chunk per leaf: chunks are already big enough to pay for a task
+            ChunkTask<A> task = new ChunkTask<>(channel, boundaries, collector, 0, chunks, SplitPolicy.fixed(1));
+            try {
+                return pool.invoke(task);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Start offsets of the chunks followed by the file size.
+     * boundaries[i] is always 0 or the offset just after a '\n'.
+     */
+    static long[] boundaries(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        long[] boundaries = new long[(int) Math.min(Integer.MAX_VALUE - 1, size / chunkSize + 2)];
+        int count = 0;
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+        long start = 0;
+        while (start < size) {
+            boundaries[count++] = start;
+            long next = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize, size, scan);
+            if (next - start > Integer.MAX_VALUE) {
+                throw new IOException("Line starting near offset " + start + " is longer than 2 GB");
+            }
+            start = next;
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    // Offset just after the first '\n' at or after position, or size
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer scan)
+            throws IOException {
+        while (position < size) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.java_threading.fork_join.graph;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size bit set where set() is atomic and tells who won
+ *
+ * 64 flags per long: a visited set for 10M vertices is 1.25 MB instead
+ * of 10 MB for a boolean[] (or 40 MB for an AtomicIntegerArray), so much
+ * more of it stays in cache.
+ *
+ * set() reads the word first and only CASes when the bit is still clear:
+ * most checks in a BFS hit vertices that are already visited, and a
+ * plain read doesn't take the cache line exclusive the way a CAS does.
+ */
+public final class AtomicBitSet {
+
+    private final AtomicLongArray words;
+
+    public AtomicBitSet(int size) {
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    public boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit. Returns true only for the one caller that changed it
+     * from 0 to 1, false if it was already set.
+     */
+    public boolean set(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;  // Shift distance is taken mod 64
+        long current = words.get(word);
+        while ((current & mask) == 0) {
+            long witness = words.compareAndExchange(word, current, current | mask);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;  // Another bit of the word changed, retry
+        }
+        return false;
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.java_threading.fork_join.graph;
+
+/**
+ * Graph in compressed sparse row (CSR) form
+ *
+ * Vertices are 0..n-1. The neighbors of v are
+ *
+ *   targets[offsets[v]] .. targets[offsets[v + 1] - 1]
+ *
+ * Two int[] for the whole graph: no object per vertex or edge, neighbors
+ * are contiguous in memory, and a vertex range maps to an edge range,
+ * which is what the parallel algorithms split on.
+ *
+ * Immutable once built.
+ */
+public final class CsrGraph {
+
+    private final int[] offsets;  // n + 1 entries
+    private final int[] targets;  // One entry per directed edge
+
+    private CsrGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Builds the graph from an edge list with a counting sort by source:
+     * count out-degrees, prefix-sum them into offsets, then place targets.
+     * If undirected, every edge is stored in both directions.
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] sources, int[] destinations, boolean undirected) {
+        if (sources.length != destinations.length) {
+            throw new IllegalArgumentException("sources and destinations must have the same length");
+        }
+        int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < sources.length; i++) {
+            offsets[checkVertex(sources[i], vertexCount) + 1]++;
+            int destination = checkVertex(destinations[i], vertexCount);  // Also when directed: targets must be in range
+            if (undirected) {
+                offsets[destination + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        int[] next = new int[vertexCount];
+        System.arraycopy(offsets, 0, next, 0, vertexCount);
+        for (int i = 0; i < sources.length; i++) {
+            targets[next[sources[i]]++] = destinations[i];
+            if (undirected) {
+                targets[next[destinations[i]]++] = sources[i];
+            }
+        }
+        return new CsrGraph(offsets, targets);
+    }
+
+    private static int checkVertex(int v, int vertexCount) {
+        if (v < 0 || v >= vertexCount) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + vertexCount + ")");
+        }
+        return v;
+    }
+
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Index of the first neighbor of v in targets()
+     */
+    public int edgesFrom(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Index after the last neighbor of v in targets()
+     */
+    public int edgesTo(int v) {
+        return offsets[v + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.java_threading.fork_join.graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Parallel BFS and connected components on a random graph
+ *
+ * Builds an undirected random graph in CSR form, then compares
+ * sequential and parallel versions of both algorithms (results are
+ * checked against each other).
+ *
+ * With ~1 edge per vertex the graph falls apart into many components;
+ * with more it is one giant component plus a few stragglers.
+ *
+ * Usage: GraphMain [vertices] [edgesPerVertex]
+ */
+public class GraphMain {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int edgesPerVertex = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int edges = vertices * edgesPerVertex;
+
+        SplittableRandom random = new SplittableRandom(42);
+        int[] sources = random.ints(edges, 0, vertices).toArray();
+        int[] destinations = random.ints(edges, 0, vertices).toArray();
+        CsrGraph graph = CsrGraph.fromEdges(vertices, sources, destinations, true);
+        System.out.printf("Graph: %,d vertices, %,d directed edges, parallelism %d%n",
+                graph.vertexCount(), graph.edgeCount(), ForkJoinPool.getCommonPoolParallelism());
+
+        System.out.println("\n=== BFS from vertex 0 ===");
+        int[] expected = measure("sequential", () -> ParallelBfs.sequentialDistances(graph, 0));
+        int[] actual = measure("parallel", () -> ParallelBfs.distances(graph, 0));
+        check(expected, actual);
+        int reached = (int) Arrays.stream(actual).filter(d -> d >= 0).count();
+        int depth = Arrays.stream(actual).max().orElse(0);
+        System.out.printf("Reached %,d vertices, depth %d%n", reached, depth);
+
+        System.out.println("\n=== Connected components ===");
+        int[] expectedLabels = measure("sequential (BFS)", () -> sequentialLabels(graph));
+        int[] labels = measure("parallel union-find", () -> ParallelConnectedComponents.labels(graph));
+        check(expectedLabels, labels);
+        System.out.printf("Components: %,d%n", ParallelConnectedComponents.componentCount(labels));
+    }
+
+    private static int[] measure(String name, Supplier<int[]> algorithm) {
+        long best = Long.MAX_VALUE;
+        int[] result = null;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            result = algorithm.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-22s %8.1f ms%n", name, best / 1e6);
+        return result;
+    }
+
+    private static void check(int[] expected, int[] actual) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Parallel result differs from the sequential one");
+        }
+    }
+
+    // BFS from every unvisited vertex in increasing order: the first vertex
+    // of each component is its smallest, same labels as the union-find
+    private static int[] sequentialLabels(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int[] queue = new int[n];
+        for (int start = 0; start < n; start++) {
+            if (labels[start] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            labels[start] = start;
+            queue[tail++] = start;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = graph.edgesFrom(v), end = graph.edgesTo(v); e < end; e++) {
+                    int w = graph.target(e);
+                    if (labels[w] < 0) {
+                        labels[w] = start;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.java_threading.fork_join.graph;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+import com.github.java_threading.fork_join.recursive_action.RangeCompleterAction;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Level-synchronous parallel breadth-first search
+ *
+ * for each level:
+ *   frontier = vertices at distance d
+ *   in parallel over frontier ranges (fork/join):
+ *     for each neighbor w of a frontier vertex:
+ *       if visited.set(w) wins -> dist[w] = d + 1, w goes to the next frontier
+ *   next frontier becomes the frontier
+ *
+ * - The AtomicBitSet makes sure each vertex is claimed by exactly one
+ *   task, so it is added to the next frontier once.
+ * - Each leaf collects its discoveries in a small local buffer and
+ *   reserves space in the shared next frontier with ONE getAndAdd per
+ *   buffer, instead of one atomic operation per vertex.
+ * - Small frontiers (the first and last levels, usually) are expanded on
+ *   the calling thread, where forking would cost more than it saves.
+ *
+ * The order of vertices inside a frontier depends on scheduling; the
+ * distances do not.
+ */
+public final class ParallelBfs {
+
+    public static final int SEQUENTIAL_FRONTIER = 1 << 10;
+    private static final int MIN_LEAF_SIZE = 1 << 8;
+    private static final int LOCAL_BUFFER_SIZE = 1 << 9;
+
+    private ParallelBfs() {
+    }
+
+    /**
+     * Distance (in edges) from source to every vertex, -1 if unreachable
+     */
+    public static int[] distances(CsrGraph graph, int source) {
+        return distances(graph, source, ForkJoinPool.commonPool());
+    }
+
+    public static int[] distances(CsrGraph graph, int source, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        Level level = new Level(graph, n);
+        level.visited.set(source);
+        level.distances[source] = 0;
+        level.frontier[0] = source;
+        int frontierSize = 1;
+
+        while (frontierSize > 0) {
+            level.nextSize.set(0);
+            if (frontierSize < SEQUENTIAL_FRONTIER) {
+                expand(level, 0, frontierSize);
+            } else {
+                SplitPolicy policy = SplitPolicy.forSize(frontierSize, pool.getParallelism(), MIN_LEAF_SIZE);
+                pool.invoke(new FrontierTask(null, level, 0, frontierSize, policy));
+            }
+            frontierSize = level.nextSize.get();
+            level.advance();
+        }
+        return level.distances;
+    }
+
+    /**
+     * Plain queue-based BFS on one thread, the baseline
+     */
+    public static int[] sequentialDistances(CsrGraph graph, int source) {
+        int[] distances = new int[graph.vertexCount()];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        distances[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int e = graph.edgesFrom(v), end = graph.edgesTo(v); e < end; e++) {
+                int w = graph.target(e);
+                if (distances[w] < 0) {
+                    distances[w] = distances[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * State shared by all tasks of the search
+     */
+    private static final class Level {
+        final CsrGraph graph;
+        final AtomicBitSet visited;
+        final int[] distances;
+        final AtomicInteger nextSize = new AtomicInteger();
+        int[] frontier;
+        int[] next;
+        int depth = 0;
+
+        Level(CsrGraph graph, int n) {
+            this.graph = graph;
+            this.visited = new AtomicBitSet(n);
+            this.distances = new int[n];
+            Arrays.fill(distances, -1);
+            this.frontier = new int[n];
+            this.next = new int[n];
+        }
+
+        // Between levels only, on the calling thread
+        void advance() {
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            depth++;
+        }
+    }
+
+    // Expands frontier[from, to) into the next frontier
+    private static void expand(Level level, int from, int to) {
+        CsrGraph graph = level.graph;
+        int[] frontier = level.frontier;
+        int nextDistance = level.depth + 1;
+        int[] buffer = new int[LOCAL_BUFFER_SIZE];
+        int buffered = 0;
+
+        for (int i = from; i < to; i++) {
+            int v = frontier[i];
+            for (int e = graph.edgesFrom(v), end = graph.edgesTo(v); e < end; e++) {
+                int w = graph.target(e);
+                if (!level.visited.get(w) && level.visited.set(w)) {
+                    level.distances[w] = nextDistance;
+                    buffer[buffered++] = w;
+                    if (buffered == LOCAL_BUFFER_SIZE) {
+                        flush(level, buffer, buffered);
+                        buffered = 0;
+                    }
+                }
+            }
+        }
+        flush(level, buffer, buffered);
+    }
+
+    private static void flush(Level level, int[] buffer, int count) {
+        if (count > 0) {
+            int at = level.nextSize.getAndAdd(count);
+            System.arraycopy(buffer, 0, level.next, at, count);
+        }
+    }
+
+    private static final class FrontierTask extends RangeCompleterAction {
+        private final Level level;
+
+        FrontierTask(FrontierTask parent, Level level, int from, int to, SplitPolicy policy) {
+            super(parent, from, to, policy);
+            this.level = level;
+        }
+
+        @Override
+        protected void processLeaf(int from, int to) {
+            expand(level, from, to);
+        }
+
+        @Override
+        protected RangeCompleterAction createSubtask(RangeCompleterAction parent, int from, int to) {
+            return new FrontierTask((FrontierTask) parent, level, from, to, policy);
+        }
+    }
+}
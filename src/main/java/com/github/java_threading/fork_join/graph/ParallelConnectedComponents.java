@@ -0,0 +1,130 @@
+package com.github.java_threading.fork_join.graph;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+import com.github.java_threading.fork_join.recursive_action.RangeCompleterAction;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Connected components with a lock-free parallel union-find
+ *
+ * Pass 1 (parallel over vertex ranges): union(v, w) for every edge.
+ * Pass 2 (parallel over vertex ranges): label[v] = find(v).
+ * Edges are treated as undirected, so a directed graph gives its weakly
+ * connected components.
+ *
+ * Lock-free union-find on an AtomicIntegerArray of parents:
+ * - A root r has parent[r] == r
+ * - union links the LARGER root under the smaller one with
+ *   CAS(parent[large], large, small); if the CAS fails someone else
+ *   linked that root first, so find the roots again and retry
+ * - find does path halving: parent[x] = parent[parent[x]] with a CAS
+ *   that is allowed to fail (it is only a shortcut)
+ * Parents only ever point to smaller ids, so there are no cycles and each
+ * component ends up labelled with its smallest vertex id.
+ */
+public final class ParallelConnectedComponents {
+
+    private static final int MIN_LEAF_SIZE = 1 << 10;
+
+    private ParallelConnectedComponents() {
+    }
+
+    /**
+     * label[v] = smallest vertex id in v's component
+     */
+    public static int[] labels(CsrGraph graph) {
+        return labels(graph, ForkJoinPool.commonPool());
+    }
+
+    public static int[] labels(CsrGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) {
+            parent.set(v, v);
+        }
+        int[] labels = new int[n];
+        SplitPolicy policy = SplitPolicy.forSize(n, pool.getParallelism(), MIN_LEAF_SIZE);
+
+        pool.invoke(new VertexTask(null, graph, parent, null, 0, n, policy));
+        pool.invoke(new VertexTask(null, graph, parent, labels, 0, n, policy));
+        return labels;
+    }
+
+    public static int componentCount(int[] labels) {
+        int count = 0;
+        for (int v = 0; v < labels.length; v++) {
+            if (labels[v] == v) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) {
+                return;
+            }
+            int large = Math.max(a, b);
+            int small = Math.min(a, b);
+            if (parent.compareAndSet(large, large, small)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * labels == null: union pass, otherwise: labelling pass
+     */
+    private static final class VertexTask extends RangeCompleterAction {
+        private final CsrGraph graph;
+        private final AtomicIntegerArray parent;
+        private final int[] labels;
+
+        VertexTask(VertexTask parentTask, CsrGraph graph, AtomicIntegerArray parent, int[] labels,
+                   int from, int to, SplitPolicy policy) {
+            super(parentTask, from, to, policy);
+            this.graph = graph;
+            this.parent = parent;
+            this.labels = labels;
+        }
+
+        @Override
+        protected void processLeaf(int from, int to) {
+            if (labels != null) {
+                for (int v = from; v < to; v++) {
+                    labels[v] = find(parent, v);
+                }
+                return;
+            }
+            for (int v = from; v < to; v++) {
+                for (int e = graph.edgesFrom(v), end = graph.edgesTo(v); e < end; e++) {
+                    union(parent, v, graph.target(e));
+                }
+            }
+        }
+
+        @Override
+        protected RangeCompleterAction createSubtask(RangeCompleterAction parentTask, int from, int to) {
+            return new VertexTask((VertexTask) parentTask, graph, parent, labels, from, to, policy);
+        }
+    }
+}
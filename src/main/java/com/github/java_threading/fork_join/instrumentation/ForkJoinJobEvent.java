@@ -0,0 +1,50 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed once per instrumented fork/join job.
+ * The event duration is the job's wall-clock time.
+ */
+@Name("com.github.java_threading.ForkJoinJob")
+@Label("Fork/Join Job")
+@Category({"Java Threading", "Fork/Join"})
+@Description("Summary of one job run on an InstrumentedForkJoinPool")
+class ForkJoinJobEvent extends Event {
+
+    @Label("Job")
+    String job;
+
+    @Label("Tasks Created")
+    long tasksCreated;
+
+    @Label("Leaves")
+    long leaves;
+
+    @Label("Average Leaf Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long averageLeafTime;
+
+    @Label("Max Leaf Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long maxLeafTime;
+
+    @Label("Steals")
+    long steals;
+
+    @Label("Steal Ratio")
+    @Description("Steals per created task")
+    double stealRatio;
+
+    @Label("Max Queued Tasks")
+    long maxQueuedTasks;
+
+    @Label("Average Blocked Workers")
+    @Description("Average of active minus running worker threads")
+    double averageBlockedWorkers;
+}
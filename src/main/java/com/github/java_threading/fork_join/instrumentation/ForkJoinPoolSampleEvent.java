@@ -0,0 +1,36 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one periodic sample of a ForkJoinPool's counters
+ */
+@Name("com.github.java_threading.ForkJoinPoolSample")
+@Label("Fork/Join Pool Sample")
+@Category({"Java Threading", "Fork/Join"})
+class ForkJoinPoolSampleEvent extends Event {
+
+    @Label("Pool")
+    String pool;
+
+    @Label("Steal Count")
+    long stealCount;
+
+    @Label("Queued Tasks")
+    long queuedTasks;
+
+    @Label("Queued Submissions")
+    int queuedSubmissions;
+
+    @Label("Active Threads")
+    int activeThreads;
+
+    @Label("Running Threads")
+    int runningThreads;
+
+    @Label("Pool Size")
+    int poolSize;
+}
@@ -0,0 +1,59 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+import com.github.java_threading.fork_join.recursive_task.SumOfSquaresTask;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fork/Join Instrumentation Demo
+ *
+ * Runs the same job with three split policies and prints a summary for
+ * each, then measures the instrumentation overhead.
+ *
+ * To also get the JFR events:
+ *   java -XX:StartFlightRecording=filename=forkjoin.jfr ... InstrumentationMain
+ *   jfr print --events com.github.java_threading.ForkJoinJob forkjoin.jfr
+ */
+public class InstrumentationMain {
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int[] array = ThreadLocalRandom.current().ints(length, 0, 1_000).toArray();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        try (InstrumentedForkJoinPool pool = new InstrumentedForkJoinPool("demo-pool", forkJoinPool, 1)) {
+            SplitPolicy[] policies = {
+                    SplitPolicy.fixed(64),
+                    SplitPolicy.forSize(length, forkJoinPool.getParallelism()),
+                    SplitPolicy.adaptive(SplitPolicy.DEFAULT_MIN_LEAF_SIZE)
+            };
+            for (SplitPolicy policy : policies) {
+                JobMetrics job = pool.newJob("sum-of-squares " + policy);
+                JobSummary summary = pool.run(job, new InstrumentedSumTask(array, policy, job)).summary();
+                System.out.println(summary);
+                System.out.println();
+            }
+
+            // Overhead: instrumented vs plain task, same policy, best of several runs
+            SplitPolicy policy = SplitPolicy.forSize(length, forkJoinPool.getParallelism());
+            long plain = Long.MAX_VALUE;
+            long instrumented = Long.MAX_VALUE;
+            for (int i = 0; i < 10; i++) {
+                long start = System.nanoTime();
+                forkJoinPool.invoke(new SumOfSquaresTask(array, policy));
+                plain = Math.min(plain, System.nanoTime() - start);
+
+                JobMetrics job = pool.newJob("overhead");
+                start = System.nanoTime();
+                pool.invoke(job, new InstrumentedSumTask(array, policy, job));
+                instrumented = Math.min(instrumented, System.nanoTime() - start);
+            }
+            System.out.printf("Plain: %.2f ms, instrumented: %.2f ms, overhead: %.1f%%%n",
+                    plain / 1e6, instrumented / 1e6, 100.0 * (instrumented - plain) / plain);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ForkJoinPool wrapper that explains why a fork/join job is slow
+ *
+ * While jobs are running, a daemon sampler thread reads the pool's own
+ * counters every sampleIntervalMillis:
+ * - getStealCount()         - tasks taken from another worker's deque
+ * - getQueuedTaskCount()    - tasks waiting in worker deques
+ * - getActiveThreadCount()  - workers stealing or running tasks
+ * - getRunningThreadCount() - workers NOT blocked (join, managed blocking)
+ * and, if JFR is recording, commits a ForkJoinPoolSample event.
+ *
+ * The tasks themselves report creation and leaf timings into JobMetrics.
+ * When the job finishes, run() builds a JobSummary and commits a
+ * ForkJoinJob JFR event.
+ *
+ * Overhead: the sampler costs one pass over the worker queues per interval
+ * on its own thread; inside the job there are only LongAdder increments
+ * and two nanoTime() calls per leaf.
+ *
+ * Note: the pool counters are pool-wide, so jobs running concurrently on
+ * the same pool share the same samples and steal count.
+ */
+public class InstrumentedForkJoinPool implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final String name;
+    private final long sampleIntervalMillis;
+    private final Set<JobMetrics> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Thread sampler;
+    private volatile boolean closed = false;
+
+    public InstrumentedForkJoinPool(String name, ForkJoinPool pool, long sampleIntervalMillis) {
+        this.name = name;
+        this.pool = pool;
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        this.sampler = new Thread(this::runSampler, name + "-sampler");
+        this.sampler.setDaemon(true);
+        this.sampler.start();
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public JobMetrics newJob(String jobName) {
+        return new JobMetrics(jobName);
+    }
+
+    /**
+     * Runs the task to completion and returns its result.
+     * Use run() to also get the JobSummary.
+     */
+    public <T> T invoke(JobMetrics job, ForkJoinTask<T> task) {
+        return run(job, task).result();
+    }
+
+    /**
+     * Runs the task to completion and returns both result and summary
+     */
+    public <T> Result<T> run(JobMetrics job, ForkJoinTask<T> task) {
+        ForkJoinJobEvent event = new ForkJoinJobEvent();
+        event.begin();
+        long stealsBefore = pool.getStealCount();
+        long start = System.nanoTime();
+
+        activeJobs.add(job);
+        T result;
+        try {
+            result = pool.invoke(task);
+        } finally {
+            activeJobs.remove(job);
+        }
+
+        long wallNanos = System.nanoTime() - start;
+        JobSummary summary = job.summarize(wallNanos, pool.getStealCount() - stealsBefore);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.job = summary.name();
+            event.tasksCreated = summary.tasksCreated();
+            event.leaves = summary.leaves();
+            event.averageLeafTime = summary.avgLeafNanos();
+            event.maxLeafTime = summary.maxLeafNanos();
+            event.steals = summary.steals();
+            event.stealRatio = summary.stealRatio();
+            event.maxQueuedTasks = summary.maxQueued();
+            event.averageBlockedWorkers = summary.avgBlocked();
+            event.commit();
+        }
+        return new Result<>(result, summary);
+    }
+
+    public record Result<T>(T result, JobSummary summary) {
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        sampler.interrupt();
+    }
+
+    private void runSampler() {
+        while (!closed) {
+            try {
+                Thread.sleep(sampleIntervalMillis);
+            } catch (InterruptedException e) {
+                return;  // close()
+            }
+            if (!activeJobs.isEmpty()) {
+                sample();
+            }
+        }
+    }
+
+    private void sample() {
+        long queued = pool.getQueuedTaskCount();
+        int active = pool.getActiveThreadCount();
+        int running = pool.getRunningThreadCount();
+        for (JobMetrics job : activeJobs) {
+            job.addSample(queued, active, running);
+        }
+
+        ForkJoinPoolSampleEvent event = new ForkJoinPoolSampleEvent();
+        if (event.shouldCommit()) {
+            event.pool = name;
+            event.stealCount = pool.getStealCount();
+            event.queuedTasks = queued;
+            event.queuedSubmissions = pool.getQueuedSubmissionCount();
+            event.activeThreads = active;
+            event.runningThreads = running;
+            event.poolSize = pool.getPoolSize();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+import com.github.java_threading.fork_join.recursive_task.DivideAndConquerTask;
+import com.github.java_threading.fork_join.recursive_task.SumOfSquaresTask;
+
+/**
+ * SumOfSquaresTask that reports into JobMetrics
+ *
+ * DivideAndConquerTask does the splitting; the instrumentation only hooks
+ * into createSubtask (count) and computeLeaf (time).
+ */
+public class InstrumentedSumTask extends DivideAndConquerTask<Long> {
+
+    private final int[] array;
+    private final JobMetrics metrics;
+
+    public InstrumentedSumTask(int[] array, SplitPolicy policy, JobMetrics metrics) {
+        this(array, 0, array.length, policy, metrics);
+    }
+
+    private InstrumentedSumTask(int[] array, int from, int to, SplitPolicy policy, JobMetrics metrics) {
+        super(from, to, policy);
+        this.array = array;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Long computeLeaf(int from, int to) {
+        long start = metrics.leafStart();
+        long result = SumOfSquaresTask.sequential(array, from, to);
+        metrics.leafEnd(start);
+        return result;
+    }
+
+    @Override
+    protected InstrumentedSumTask createSubtask(int from, int to) {
+        metrics.taskCreated();
+        return new InstrumentedSumTask(array, from, to, policy, metrics);
+    }
+
+    @Override
+    protected Long combine(Long left, Long right) {
+        return left + right;
+    }
+}
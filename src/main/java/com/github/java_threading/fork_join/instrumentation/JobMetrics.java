@@ -0,0 +1,78 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one fork/join job, fed by the job's own tasks
+ *
+ * Tasks call:
+ * - taskCreated()             every time they create a subtask
+ * - leafStart() / leafEnd(t)  around their sequential leaf work
+ *
+ * All counters are LongAdders (striped per CPU), so workers never fight
+ * over one cache line; the only per-leaf cost is two System.nanoTime()
+ * calls, which is negligible as long as leaves are reasonably sized.
+ *
+ * Pool-level numbers (queue sizes, active/running threads) are filled in
+ * by the InstrumentedForkJoinPool sampler while the job runs.
+ */
+public class JobMetrics {
+
+    final String name;
+
+    final LongAdder tasksCreated = new LongAdder();
+    final LongAdder leaves = new LongAdder();
+    final LongAdder leafNanos = new LongAdder();
+    final LongAccumulator maxLeafNanos = new LongAccumulator(Math::max, 0);
+
+    // Written only by the sampler thread
+    long samples;
+    long queuedTotal;
+    long maxQueued;
+    long activeTotal;
+    long runningTotal;
+
+    JobMetrics(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void taskCreated() {
+        tasksCreated.increment();
+    }
+
+    public long leafStart() {
+        return System.nanoTime();
+    }
+
+    public void leafEnd(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        leaves.increment();
+        leafNanos.add(elapsed);
+        maxLeafNanos.accumulate(elapsed);
+    }
+
+    synchronized void addSample(long queued, int active, int running) {
+        samples++;
+        queuedTotal += queued;
+        maxQueued = Math.max(maxQueued, queued);
+        activeTotal += active;
+        runningTotal += running;
+    }
+
+    synchronized JobSummary summarize(long wallNanos, long steals) {
+        long created = tasksCreated.sum();
+        long leafCount = leaves.sum();
+        return new JobSummary(name, wallNanos, created, leafCount,
+                leafCount == 0 ? 0 : leafNanos.sum() / leafCount, maxLeafNanos.get(),
+                steals, created == 0 ? 0 : (double) steals / created,
+                samples,
+                samples == 0 ? 0 : (double) queuedTotal / samples, maxQueued,
+                samples == 0 ? 0 : (double) activeTotal / samples,
+                samples == 0 ? 0 : (double) runningTotal / samples);
+    }
+}
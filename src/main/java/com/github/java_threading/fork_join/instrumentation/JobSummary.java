@@ -0,0 +1,37 @@
+package com.github.java_threading.fork_join.instrumentation;
+
+/**
+ * Per-job summary produced by InstrumentedForkJoinPool
+ *
+ * How to read it:
+ * - leaves tiny (avgLeafNanos of a few microseconds) -> split less
+ * - stealRatio close to 1 and high maxQueued          -> stealing storm,
+ *   tasks are too fine-grained or the split is unbalanced
+ * - avgActive - avgRunning well above 0               -> workers blocked
+ *   (join chains, blocking I/O in tasks)
+ * - stealRatio near 0 with parallelism > 1            -> work was not
+ *   split enough for other workers to help
+ */
+public record JobSummary(String name, long wallNanos,
+                         long tasksCreated, long leaves, long avgLeafNanos, long maxLeafNanos,
+                         long steals, double stealRatio,
+                         long samples, double avgQueued, long maxQueued,
+                         double avgActive, double avgRunning) {
+
+    public double avgBlocked() {
+        return Math.max(0, avgActive - avgRunning);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Job '%s': %.2f ms%n"
+                        + "  tasks created: %d, leaves: %d, avg leaf: %.1f us, max leaf: %.1f us%n"
+                        + "  steals: %d, steal ratio: %.3f%n"
+                        + "  samples: %d, queued avg/max: %.1f/%d, active avg: %.2f, running avg: %.2f, blocked avg: %.2f",
+                name, wallNanos / 1e6,
+                tasksCreated, leaves, avgLeafNanos / 1e3, maxLeafNanos / 1e3,
+                steals, stealRatio,
+                samples, avgQueued, maxQueued, avgActive, avgRunning, avgBlocked());
+    }
+}
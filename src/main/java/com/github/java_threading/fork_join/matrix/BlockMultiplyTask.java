@@ -0,0 +1,117 @@
+package com.github.java_threading.fork_join.matrix;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * C[rows, cols] += A[rows, ks] * B[ks, cols] on flat row-major arrays
+ *
+ * A is n x m, B is m x p, C is n x p. The task owns the block of C given
+ * by [rowFrom, rowTo) x [colFrom, colTo) and adds the contribution of
+ * the k range [kFrom, kTo).
+ *
+ * Recursion: halve the LARGEST of the three dimensions until the three
+ * blocks (A, B and C) fit in the cache budget:
+ * - rows or cols: the halves write disjoint parts of C -> fork one,
+ *   compute the other, join
+ * - k: both halves write the SAME block of C -> run one after the other
+ *   (no task, no race)
+ * Repeated halving is the quadrant decomposition: every block that
+ * reaches the kernel has already been cut down in all three dimensions.
+ */
+final class BlockMultiplyTask extends RecursiveAction {
+
+    private final double[] a;
+    private final double[] b;
+    private final double[] c;
+    private final int m;  // Columns of A = rows of B
+    private final int p;  // Columns of B and C
+    private final int rowFrom;
+    private final int rowTo;
+    private final int colFrom;
+    private final int colTo;
+    private final int kFrom;
+    private final int kTo;
+    private final long blockBytes;
+
+    BlockMultiplyTask(double[] a, double[] b, double[] c, int m, int p,
+                      int rowFrom, int rowTo, int colFrom, int colTo, int kFrom, int kTo,
+                      long blockBytes) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.m = m;
+        this.p = p;
+        this.rowFrom = rowFrom;
+        this.rowTo = rowTo;
+        this.colFrom = colFrom;
+        this.colTo = colTo;
+        this.kFrom = kFrom;
+        this.kTo = kTo;
+        this.blockBytes = blockBytes;
+    }
+
+    @Override
+    protected void compute() {
+        int rows = rowTo - rowFrom;
+        int cols = colTo - colFrom;
+        int ks = kTo - kFrom;
+        long footprint = ((long) rows * ks + (long) ks * cols + (long) rows * cols) * Double.BYTES;
+
+        if (footprint <= blockBytes || (rows <= 1 && cols <= 1 && ks <= 1)) {
+            multiplyBlock(a, b, c, m, p, rowFrom, rowTo, colFrom, colTo, kFrom, kTo);
+            return;
+        }
+
+        if (ks >= rows && ks >= cols) {
+            int mid = kFrom + (ks >>> 1);
+            subtask(rowFrom, rowTo, colFrom, colTo, kFrom, mid).compute();
+            subtask(rowFrom, rowTo, colFrom, colTo, mid, kTo).compute();
+            return;
+        }
+
+        BlockMultiplyTask left;
+        BlockMultiplyTask right;
+        if (rows >= cols) {
+            int mid = rowFrom + (rows >>> 1);
+            left = subtask(rowFrom, mid, colFrom, colTo, kFrom, kTo);
+            right = subtask(mid, rowTo, colFrom, colTo, kFrom, kTo);
+        } else {
+            int mid = colFrom + (cols >>> 1);
+            left = subtask(rowFrom, rowTo, colFrom, mid, kFrom, kTo);
+            right = subtask(rowFrom, rowTo, mid, colTo, kFrom, kTo);
+        }
+        left.fork();
+        right.compute();
+        left.join();
+    }
+
+    private BlockMultiplyTask subtask(int rowFrom, int rowTo, int colFrom, int colTo, int kFrom, int kTo) {
+        return new BlockMultiplyTask(a, b, c, m, p, rowFrom, rowTo, colFrom, colTo, kFrom, kTo, blockBytes);
+    }
+
+    /**
+     * The kernel, in i-k-j order:
+     *
+     *   for i: for k: aik = A[i][k]; for j: C[i][j] += aik * B[k][j]
+     *
+     * The innermost loop walks a row of B and a row of C with stride 1
+     * and has no loop-carried dependency, so C2 compiles it to SIMD
+     * multiply/add instructions. The textbook i-j-k order (or i-j-k over a
+     * transposed B) ends in a dot product instead: a floating point sum
+     * that the JIT must keep in order, so it stays scalar.
+     */
+    static void multiplyBlock(double[] a, double[] b, double[] c, int m, int p,
+                              int rowFrom, int rowTo, int colFrom, int colTo, int kFrom, int kTo) {
+        for (int i = rowFrom; i < rowTo; i++) {
+            int aRow = i * m;
+            int cRow = i * p;
+            for (int k = kFrom; k < kTo; k++) {
+                double aik = a[aRow + k];
+                int bRow = k * p;
+                for (int j = colFrom; j < colTo; j++) {
+                    c[cRow + j] += aik * b[bRow + j];
+                }
+            }
+        }
+    }
+}
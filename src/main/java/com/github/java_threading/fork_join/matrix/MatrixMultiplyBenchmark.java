@@ -0,0 +1,73 @@
+package com.github.java_threading.fork_join.matrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Naive vs blocked vs blocked + fork/join matrix multiplication
+ *
+ * Reports the best time and GFLOP/s (2 * n^3 floating point operations)
+ * and checks every result against the naive one. The naive version is
+ * skipped above 2048, where it takes minutes.
+ *
+ * Usage: MatrixMultiplyBenchmark [n] [blockKiB]
+ */
+public class MatrixMultiplyBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+    private static final int NAIVE_LIMIT = 2048;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        long blockBytes = args.length > 1 ? Long.parseLong(args[1]) << 10 : ParallelMatrixMultiply.DEFAULT_BLOCK_BYTES;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        System.out.printf("n = %d, block budget = %d KiB, parallelism = %d%n",
+                n, blockBytes >> 10, pool.getParallelism());
+
+        double[] a = ThreadLocalRandom.current().doubles((long) n * n, -1, 1).toArray();
+        double[] b = ThreadLocalRandom.current().doubles((long) n * n, -1, 1).toArray();
+
+        double[] expected = null;
+        if (n <= NAIVE_LIMIT) {
+            expected = measure("naive i-j-k", n, null, () -> ParallelMatrixMultiply.multiplyNaive(a, b, n, n, n));
+        }
+        double[] blocked = measure("blocked, 1 thread", n, expected,
+                () -> ParallelMatrixMultiply.multiplySequential(a, b, n, n, n, blockBytes));
+        measure("blocked, fork/join", n, expected != null ? expected : blocked,
+                () -> ParallelMatrixMultiply.multiply(a, b, n, n, n, pool, blockBytes));
+    }
+
+    private static double[] measure(String name, int n, double[] expected, Supplier<double[]> multiply) {
+        long best = Long.MAX_VALUE;
+        double[] result = null;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            result = multiply.get();
+            long elapsed = System.nanoTime() - start;
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        if (expected != null) {
+            double error = maxRelativeError(expected, result);
+            if (error > 1e-9) {
+                throw new IllegalStateException(name + " differs from the reference by " + error);
+            }
+        }
+        double gflops = 2.0 * n * n * n / best;
+        System.out.printf("%-22s %10.1f ms %8.2f GFLOP/s%n", name, best / 1e6, gflops);
+        return result;
+    }
+
+    // Summation order differs between versions, so compare with a tolerance
+    private static double maxRelativeError(double[] expected, double[] actual) {
+        double max = 0;
+        for (int i = 0; i < expected.length; i++) {
+            double scale = Math.max(1.0, Math.abs(expected[i]));
+            max = Math.max(max, Math.abs(expected[i] - actual[i]) / scale);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.java_threading.fork_join.matrix;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Dense matrix multiplication C = A * B on a ForkJoinPool
+ *
+ * Matrices are flat row-major double[]: element (i, j) of an r x c
+ * matrix is at index i * c + j. A is n x m, B is m x p, C is n x p.
+ *
+ * Why blocking matters: a naive triple loop streams a whole column of B
+ * from memory for every element of C. Cutting the problem into blocks
+ * whose A, B and C parts fit in L2 means every double loaded from memory
+ * is reused many times from cache (see BlockMultiplyTask).
+ *
+ * DEFAULT_BLOCK_BYTES is a conservative per-core L2 budget; pass the real
+ * L2 size of the machine (or less, to leave room for other data) to tune.
+ */
+public final class ParallelMatrixMultiply {
+
+    public static final long DEFAULT_BLOCK_BYTES = 256 << 10;
+
+    private ParallelMatrixMultiply() {
+    }
+
+    public static double[] multiply(double[] a, double[] b, int n, int m, int p) {
+        return multiply(a, b, n, m, p, ForkJoinPool.commonPool(), DEFAULT_BLOCK_BYTES);
+    }
+
+    public static double[] multiply(double[] a, double[] b, int n, int m, int p,
+                                    ForkJoinPool pool, long blockBytes) {
+        checkSize(a, n, m, "a");
+        checkSize(b, m, p, "b");
+        if (blockBytes < 3 * Double.BYTES) {
+            throw new IllegalArgumentException("blockBytes too small: " + blockBytes);
+        }
+        double[] c = new double[Math.multiplyExact(n, p)];
+        pool.invoke(new BlockMultiplyTask(a, b, c, m, p, 0, n, 0, p, 0, m, blockBytes));
+        return c;
+    }
+
+    /**
+     * Single-threaded, same blocking and kernel
+     */
+    public static double[] multiplySequential(double[] a, double[] b, int n, int m, int p, long blockBytes) {
+        checkSize(a, n, m, "a");
+        checkSize(b, m, p, "b");
+        double[] c = new double[Math.multiplyExact(n, p)];
+        int tile = tileSize(blockBytes);
+        for (int i = 0; i < n; i += tile) {
+            for (int k = 0; k < m; k += tile) {
+                for (int j = 0; j < p; j += tile) {
+                    BlockMultiplyTask.multiplyBlock(a, b, c, m, p,
+                            i, Math.min(i + tile, n), j, Math.min(j + tile, p), k, Math.min(k + tile, m));
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Textbook i-j-k triple loop, the baseline
+     */
+    public static double[] multiplyNaive(double[] a, double[] b, int n, int m, int p) {
+        checkSize(a, n, m, "a");
+        checkSize(b, m, p, "b");
+        double[] c = new double[Math.multiplyExact(n, p)];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < p; j++) {
+                double sum = 0;
+                for (int k = 0; k < m; k++) {
+                    sum += a[i * m + k] * b[k * p + j];
+                }
+                c[i * p + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    // Side of a square tile such that three tiles fit in blockBytes
+    private static int tileSize(long blockBytes) {
+        return Math.max(1, (int) Math.sqrt(blockBytes / (3.0 * Double.BYTES)));
+    }
+
+    private static void checkSize(double[] matrix, int rows, int cols, String name) {
+        if (rows < 0 || cols < 0 || matrix.length != (long) rows * cols) {
+            throw new IllegalArgumentException(name + " must have " + rows + " x " + cols
+                    + " elements, has " + matrix.length);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.java_threading.fork_join.recursive_action;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replaces every element of an array with its square root, in place.
+ * If failAt is inside the array, the leaf containing it throws.
+ */
+public class MyCompleterAction extends RangeCompleterAction {
+
+    private final double[] data;
+    private final int failAt;
+    private final LongAdder leavesDone;
+
+    public MyCompleterAction(double[] data, SplitPolicy policy, int failAt) {
+        this(null, data, 0, data.length, policy, failAt, new LongAdder());
+    }
+
+    private MyCompleterAction(MyCompleterAction parent, double[] data, int from, int to,
+                              SplitPolicy policy, int failAt, LongAdder leavesDone) {
+        super(parent, from, to, policy);
+        this.data = data;
+        this.failAt = failAt;
+        this.leavesDone = leavesDone;
+    }
+
+    public long leavesDone() {
+        return leavesDone.sum();
+    }
+
+    @Override
+    protected void processLeaf(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i == failAt) {
+                throw new IllegalStateException("Bad element at index " + i);
+            }
+            data[i] = Math.sqrt(data[i]);
+        }
+        leavesDone.increment();
+    }
+
+    @Override
+    protected RangeCompleterAction createSubtask(RangeCompleterAction parent, int from, int to) {
+        return new MyCompleterAction((MyCompleterAction) parent, data, from, to, policy, failAt, leavesDone);
+    }
+}
@@ -19,8 +19,9 @@ public class MyRecursiveAction extends RecursiveAction {
             MyRecursiveAction subTask1 = new MyRecursiveAction(workLoad1);
             MyRecursiveAction subTask2 = new MyRecursiveAction(workLoad2);
 
-            subTask1.fork();
-            subTask2.fork();
+            // Fork both AND wait for them, otherwise the caller of invoke()
+            // returns before the work is done and never sees a failure
+            invokeAll(subTask1, subTask2);
 
         } else {
             System.out.println(Thread.currentThread().getName() + " workload done - " + initialWorkLoad);
@@ -0,0 +1,103 @@
+package com.github.java_threading.fork_join.recursive_action;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountedCompleter;
+
+/**
+ * Side-effect action over an index range built on CountedCompleter
+ *
+ * RecursiveAction + join(): a parent sits in join() until its children
+ * finish, so completion is a chain of waits up the tree.
+ *
+ * CountedCompleter turns that around:
+ * - Before forking a child, the parent increments its pending count
+ * - When a task finishes it calls tryComplete(): if its pending count is
+ *   0 it completes and moves on to ITS completer (the parent), otherwise
+ *   it just decrements the count and returns
+ * - The last task to finish in a subtree completes that subtree's root
+ * No worker ever blocks; the root completes exactly once, when every
+ * leaf is done.
+ *
+ * Errors: an exception thrown by processLeaf completes that task
+ * exceptionally, and CountedCompleter propagates it up to the root.
+ * The first failure completes the root; every task checks the root
+ * before doing any work, so outstanding siblings are skipped
+ * (cooperative cancellation) instead of running for nothing.
+ *
+ * Callers can either block (invoke/join/get) from a non-pool thread or
+ * register a callback on completion() without blocking at all.
+ */
+public abstract class RangeCompleterAction extends CountedCompleter<Void> {
+
+    protected final int from;
+    protected final int to;
+    protected final SplitPolicy policy;
+    private final CompletableFuture<Void> completion;  // Only the root has one
+
+    protected RangeCompleterAction(RangeCompleterAction parent, int from, int to, SplitPolicy policy) {
+        super(parent);
+        this.from = from;
+        this.to = to;
+        this.policy = policy;
+        this.completion = parent == null ? new CompletableFuture<>() : null;
+    }
+
+    /**
+     * Sequential work on [from, to). May throw to fail the whole action.
+     */
+    protected abstract void processLeaf(int from, int to);
+
+    protected abstract RangeCompleterAction createSubtask(RangeCompleterAction parent, int from, int to);
+
+    /**
+     * Completes normally once every leaf finished, or exceptionally with
+     * the first failure. Only available on the root task.
+     */
+    public CompletableFuture<Void> completion() {
+        if (completion == null) {
+            throw new IllegalStateException("completion() is only available on the root task");
+        }
+        return completion;
+    }
+
+    @Override
+    public final void compute() {
+        CountedCompleter<?> root = getRoot();
+        int lo = from;
+        int hi = to;
+
+        // Split off right halves and fork them; keep the left half here
+        while (policy.shouldSplit(hi - lo)) {
+            if (root.isDone()) {
+                return;  // A sibling failed: don't even start
+            }
+            int mid = lo + ((hi - lo) >>> 1);
+            addToPendingCount(1);
+            createSubtask(this, mid, hi).fork();
+            hi = mid;
+        }
+
+        if (root.isDone()) {
+            return;
+        }
+        processLeaf(lo, hi);
+        tryComplete();  // Completes this and walks up while pending counts are 0
+    }
+
+    @Override
+    public void onCompletion(CountedCompleter<?> caller) {
+        if (completion != null) {
+            completion.complete(null);
+        }
+    }
+
+    @Override
+    public boolean onExceptionalCompletion(Throwable ex, CountedCompleter<?> caller) {
+        if (completion != null) {
+            completion.completeExceptionally(ex);
+        }
+        return true;  // Keep propagating to the completer
+    }
+}
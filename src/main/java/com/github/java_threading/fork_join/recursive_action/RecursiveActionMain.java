@@ -1,19 +1,43 @@
 package com.github.java_threading.fork_join.recursive_action;
 
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.TimeUnit;
 
 public class RecursiveActionMain {
 
     public static void main(String[] args) throws ExecutionException, InterruptedException {
         ForkJoinPool forkJoinPool = new ForkJoinPool(2);
 
+        // RecursiveAction: invoke() returns only after every subtask finished
         MyRecursiveAction myRecursiveAction = new MyRecursiveAction(80);
         forkJoinPool.invoke(myRecursiveAction);
+        System.out.println("RecursiveAction done: " + myRecursiveAction.isDone());
+
+        // CountedCompleter: no worker blocks in join(), root completes once
+        double[] data = new double[1_000_000];
+        Arrays.fill(data, 16.0);
+        MyCompleterAction completerAction = new MyCompleterAction(data, SplitPolicy.fixed(10_000), -1);
+        completerAction.completion().thenRun(() ->
+                System.out.println("Completion callback: all " + completerAction.leavesDone() + " leaves finished"));
+        forkJoinPool.invoke(completerAction);
+        System.out.println("CountedCompleter done, data[0] = " + data[0] + ", data[last] = " + data[data.length - 1]);
 
-        TimeUnit.SECONDS.sleep(3);
+        // CountedCompleter with a failing leaf: first exception reaches the root,
+        // siblings that have not started yet are skipped
+        double[] badData = new double[1_000_000];
+        MyCompleterAction failingAction = new MyCompleterAction(badData, SplitPolicy.fixed(10_000), 20_000);
+        forkJoinPool.execute(failingAction);
+        try {
+            failingAction.get();
+        } catch (ExecutionException e) {
+            System.out.println("Failed as expected: " + e.getCause());
+            System.out.println("Leaves that still ran: " + failingAction.leavesDone() + " of 128");
+        }
 
+        forkJoinPool.shutdown();
     }
 
 }
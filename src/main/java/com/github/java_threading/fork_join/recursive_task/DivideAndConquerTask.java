@@ -0,0 +1,56 @@
+package com.github.java_threading.fork_join.recursive_task;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Generic divide-and-conquer task over an index range [from, to)
+ *
+ * Subclasses only describe the problem:
+ * - computeLeaf(from, to)    - sequential work on a small range
+ * - createSubtask(from, to)  - same task type for a sub-range
+ * - combine(left, right)     - merge two partial results
+ *
+ * The splitting itself is done here, the right way:
+ * - When to stop is delegated to a SplitPolicy (derived or adaptive)
+ * - Fork the LEFT half, compute the RIGHT half in the current thread,
+ *   then join the left. The current worker never idles waiting for a
+ *   task it could have run itself, and half the tasks are never queued.
+ */
+public abstract class DivideAndConquerTask<R> extends RecursiveTask<R> {
+
+    protected final int from;
+    protected final int to;
+    protected final SplitPolicy policy;
+
+    protected DivideAndConquerTask(int from, int to, SplitPolicy policy) {
+        this.from = from;
+        this.to = to;
+        this.policy = policy;
+    }
+
+    protected abstract R computeLeaf(int from, int to);
+
+    protected abstract DivideAndConquerTask<R> createSubtask(int from, int to);
+
+    protected abstract R combine(R left, R right);
+
+    @Override
+    protected final R compute() {
+        int length = to - from;
+        if (!policy.shouldSplit(length)) {
+            return computeLeaf(from, to);
+        }
+
+        int mid = from + (length >>> 1);
+        DivideAndConquerTask<R> left = createSubtask(from, mid);
+        DivideAndConquerTask<R> right = createSubtask(mid, to);
+
+        left.fork();                       // Available for stealing
+        R rightResult = right.compute();   // Do the other half ourselves
+        R leftResult = left.join();        // Runs it inline if nobody stole it
+
+        return combine(leftResult, rightResult);
+    }
+}
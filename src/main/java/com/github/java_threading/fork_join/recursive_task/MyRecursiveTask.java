@@ -22,14 +22,13 @@ public class MyRecursiveTask extends RecursiveTask<Integer> {
             MyRecursiveTask subTask1 = new MyRecursiveTask(workload1);
             MyRecursiveTask subTask2 = new MyRecursiveTask(workload2);
 
+            // Fork one half, compute the other in this thread, then join.
+            // Forking both would leave this worker idle while it waits.
             subTask1.fork();
-            subTask2.fork();
+            int result2 = subTask2.compute();
+            int result1 = subTask1.join();
 
-            int result = 0;
-            result += subTask1.join();
-            result += subTask1.join();
-
-            return result;
+            return result1 + result2;
 
         } else {
             System.out.println(Thread.currentThread().getName() + " - Completed workload");
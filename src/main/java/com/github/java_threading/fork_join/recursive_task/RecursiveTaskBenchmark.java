@@ -0,0 +1,69 @@
+package com.github.java_threading.fork_join.recursive_task;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Sequential loop vs fork/join with different split policies
+ *
+ * - fixed(16)   - the old MyRecursiveTask threshold: millions of tiny tasks
+ * - forSize     - leaf size derived from array length and pool parallelism
+ * - adaptive    - split while getSurplusQueuedTaskCount() is low
+ *
+ * Usage: RecursiveTaskBenchmark [arrayLength]
+ * Each variant is warmed up first so the JIT has compiled the hot loops;
+ * the best of several runs is reported.
+ */
+public class RecursiveTaskBenchmark {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int[] array = ThreadLocalRandom.current().ints(length, 0, 1_000).toArray();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        System.out.println("Array length: " + length + ", parallelism: " + pool.getParallelism());
+
+        long expected = SumOfSquaresTask.sequential(array, 0, length);
+        double sequentialMillis = measure("sequential loop", expected,
+                () -> SumOfSquaresTask.sequential(array, 0, length));
+
+        SplitPolicy[] policies = {
+                SplitPolicy.fixed(16),
+                SplitPolicy.forSize(length, pool.getParallelism()),
+                SplitPolicy.adaptive(SplitPolicy.DEFAULT_MIN_LEAF_SIZE)
+        };
+        for (SplitPolicy policy : policies) {
+            double millis = measure("fork/join " + policy, expected,
+                    () -> pool.invoke(new SumOfSquaresTask(array, policy)));
+            System.out.printf("    speedup vs sequential: %.2fx%n", sequentialMillis / millis);
+        }
+    }
+
+    private static double measure(String name, long expected, LongSupplier run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            check(expected, run.getAsLong());
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            long result = run.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+            check(expected, result);
+        }
+        double millis = best / 1e6;
+        System.out.printf("%-45s %8.2f ms%n", name, millis);
+        return millis;
+    }
+
+    private static void check(long expected, long actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Wrong result: " + actual + " != " + expected);
+        }
+    }
+}
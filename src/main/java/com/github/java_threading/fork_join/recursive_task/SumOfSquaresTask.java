@@ -0,0 +1,46 @@
+package com.github.java_threading.fork_join.recursive_task;
+
+import com.github.java_threading.fork_join.SplitPolicy;
+
+/**
+ * Sum of squares of an int[] range, built on DivideAndConquerTask
+ */
+public class SumOfSquaresTask extends DivideAndConquerTask<Long> {
+
+    private final int[] array;
+
+    public SumOfSquaresTask(int[] array, SplitPolicy policy) {
+        this(array, 0, array.length, policy);
+    }
+
+    private SumOfSquaresTask(int[] array, int from, int to, SplitPolicy policy) {
+        super(from, to, policy);
+        this.array = array;
+    }
+
+    /**
+     * Plain sequential loop, the baseline every leaf runs
+     */
+    public static long sequential(int[] array, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += (long) array[i] * array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    protected Long computeLeaf(int from, int to) {
+        return sequential(array, from, to);
+    }
+
+    @Override
+    protected SumOfSquaresTask createSubtask(int from, int to) {
+        return new SumOfSquaresTask(array, from, to, policy);
+    }
+
+    @Override
+    protected Long combine(Long left, Long right) {
+        return left + right;
+    }
+}
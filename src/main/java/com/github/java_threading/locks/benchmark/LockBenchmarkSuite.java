@@ -0,0 +1,208 @@
+package com.github.java_threading.locks.benchmark;
+
+import com.github.java_threading.locks.queue_lock.ClhLock;
+import com.github.java_threading.locks.queue_lock.McsLock;
+import com.github.java_threading.locks.read_write_lock.ReaderBiasedReadWriteLock;
+import com.github.java_threading.locks.spin_lock.TicketLock;
+import com.github.java_threading.locks.stamped_lock.ReentrantStampedLock;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Every lock in the locks package under the same workload
+ *
+ * Turns the "CHOOSING THE RIGHT LOCK" table in advanced-locks.txt into
+ * numbers. N threads loop for a fixed time; each operation is a read
+ * (with readPercent probability) or a write of SharedState, followed by
+ * outsideWork steps on private data. The same run is repeated for every
+ * lock, thread count, read mix and thread kind (platform / virtual), and
+ * printed as one table per thread count: rows = locks, columns = read
+ * mix, cells = total ops/ms.
+ *
+ * Every read checks SharedState's invariant and every write is counted
+ * against the final x, so a lock that does not exclude properly fails
+ * the run instead of winning it.
+ *
+ * What to look for:
+ * - 0% reads: plain mutexes (synchronized, ReentrantLock, SpinLock) win;
+ *   read/write locks pay for bookkeeping they cannot use
+ * - 90-99% reads with a longer critical section: read locks let readers
+ *   overlap, StampedLock optimistic reads do not write shared memory at all
+ * - fair ReentrantLock: a park/unpark on almost every handoff
+ * - FIFO spin locks (TicketLock, McsLock, ClhLock) next to SpinLock: no
+ *   barging, so with more threads than cores the next in line may be
+ *   descheduled while everybody waits for it
+ * - virtual threads: parking locks hand the carrier to another virtual
+ *   thread; on JDK 21 synchronized pins the carrier and spinning burns it
+ *
+ * This is a plain harness, not JMH: warm up first, run long enough, and
+ * compare numbers from the same run rather than across machines.
+ *
+ * Usage: LockBenchmarkSuite [durationMillis] [criticalWork] [outsideWork]
+ *                           [threads, e.g. 1,2,4,8] [readPercents, e.g. 0,50,90,99]
+ *                           [platform|virtual|both]
+ */
+public class LockBenchmarkSuite {
+
+    private final SharedState state = new SharedState();
+    private volatile boolean running;
+
+    /**
+     * The locks under test, in table order; each supplier creates a fresh lock
+     */
+    static Map<String, Supplier<LockUnderTest>> locks() {
+        Map<String, Supplier<LockUnderTest>> locks = new LinkedHashMap<>();
+        locks.put("synchronized", LockUnderTest::synchronizedBlock);
+        locks.put("ReentrantLock()", () -> LockUnderTest.reentrantLock(false));
+        locks.put("ReentrantLock(true)", () -> LockUnderTest.reentrantLock(true));
+        locks.put("ReentrantReadWriteLock", LockUnderTest::reentrantReadWriteLock);
+        locks.put("ReaderBiasedRWLock", () -> LockUnderTest.readWrite(new ReaderBiasedReadWriteLock()));
+        locks.put("StampedLock read", LockUnderTest::stampedPessimistic);
+        locks.put("StampedLock optimistic", LockUnderTest::stampedOptimistic);
+        locks.put("ReentrantStampedLock", () -> LockUnderTest.readWrite(new ReentrantStampedLock().asReadWriteLock()));
+        locks.put("Semaphore(1)", LockUnderTest::semaphore);
+        locks.put("SpinLock", LockUnderTest::spinLock);
+        locks.put("TicketLock", () -> LockUnderTest.exclusive(new TicketLock()));
+        locks.put("McsLock", () -> LockUnderTest.exclusive(new McsLock()));
+        locks.put("ClhLock", () -> LockUnderTest.exclusive(new ClhLock()));
+        return locks;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long duration = args.length > 0 ? Long.parseLong(args[0]) : 300;
+        int criticalWork = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int outsideWork = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int[] threadCounts = args.length > 3 ? parseInts(args[3]) : new int[]{1, 2, 4, 8};
+        int[] readPercents = args.length > 4 ? parseInts(args[4]) : new int[]{0, 50, 90, 99};
+        String kinds = args.length > 5 ? args[5] : "both";
+        for (int readPercent : readPercents) {
+            if (readPercent < 0 || readPercent > 100) {
+                throw new IllegalArgumentException("read percent must be 0..100: " + readPercent);
+            }
+        }
+        System.out.printf("CPUs: %d, %d ms per run, criticalWork %d, outsideWork %d%n",
+                Runtime.getRuntime().availableProcessors(), duration, criticalWork, outsideWork);
+
+        Map<String, Supplier<LockUnderTest>> locks = locks();
+        for (Supplier<LockUnderTest> lock : locks.values()) {
+            new LockBenchmarkSuite().run("warmup", lock.get(), false, 2, 90, duration, criticalWork, outsideWork);
+        }
+        if (!kinds.equals("virtual")) {
+            printTables("platform threads", false, locks, threadCounts, readPercents, duration, criticalWork,
+                    outsideWork);
+        }
+        if (!kinds.equals("platform")) {
+            printTables("virtual threads", true, locks, threadCounts, readPercents, duration, criticalWork,
+                    outsideWork);
+        }
+    }
+
+    private static void printTables(String title, boolean virtual, Map<String, Supplier<LockUnderTest>> locks,
+                                    int[] threadCounts, int[] readPercents, long duration,
+                                    int criticalWork, int outsideWork) throws InterruptedException {
+        for (int threads : threadCounts) {
+            System.out.printf("%n%s, %d threads (ops/ms)%n", title, threads);
+            StringBuilder header = new StringBuilder(String.format("%-24s", "lock \\ reads"));
+            for (int readPercent : readPercents) {
+                header.append(String.format("%10d%%", readPercent));
+            }
+            System.out.println(header);
+            for (Map.Entry<String, Supplier<LockUnderTest>> lock : locks.entrySet()) {
+                StringBuilder row = new StringBuilder(String.format("%-24s", lock.getKey()));
+                for (int readPercent : readPercents) {
+                    double opsPerMilli = new LockBenchmarkSuite().run(lock.getKey(), lock.getValue().get(),
+                            virtual, threads, readPercent, duration, criticalWork, outsideWork);
+                    row.append(String.format("%11.0f", opsPerMilli));
+                }
+                System.out.println(row);
+            }
+        }
+    }
+
+    /**
+     * One run: returns total ops/ms, throws if the lock let a reader see a
+     * torn update or lost a write
+     */
+    private double run(String name, LockUnderTest lock, boolean virtual, int threadCount, int readPercent,
+                       long durationMillis, int criticalWork, int outsideWork) throws InterruptedException {
+        long[] reads = new long[threadCount];
+        long[] writes = new long[threadCount];
+        long[] violations = new long[threadCount];
+        long[] sink = new long[threadCount];
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread.Builder builder = virtual ? Thread.ofVirtual() : Thread.ofPlatform();
+        Thread[] threads = new Thread[threadCount];
+
+        for (int t = 0; t < threadCount; t++) {
+            int index = t;
+            threads[t] = builder.unstarted(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long random = 0x9E3779B97F4A7C15L * (index + 1);
+                long local = index;
+                long readOps = 0;
+                long writeOps = 0;
+                long bad = 0;
+                while (running) {
+                    // xorshift: cheap, thread-local, no shared Random
+                    random ^= random << 13;
+                    random ^= random >>> 7;
+                    random ^= random << 17;
+                    if (Math.floorMod(random, 100) < readPercent) {
+                        long value = lock.read(state, criticalWork);
+                        if (value == SharedState.INCONSISTENT) {
+                            bad++;
+                        }
+                        local += value;
+                        readOps++;
+                    } else {
+                        lock.write(state, criticalWork);
+                        writeOps++;
+                    }
+                    local = SharedState.mix(local, outsideWork);
+                }
+                reads[index] = readOps;
+                writes[index] = writeOps;
+                violations[index] = bad;
+                sink[index] = local;  // Keeps the outside work from being optimized away
+            });
+            threads[t].start();
+        }
+
+        ready.await();
+        running = true;
+        long wallStart = System.nanoTime();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        long totalWrites = Arrays.stream(writes).sum();
+        long totalViolations = Arrays.stream(violations).sum();
+        if (totalViolations > 0) {
+            throw new IllegalStateException(name + ": " + totalViolations + " reads saw x != y");
+        }
+        if (state.x != totalWrites || state.y != totalWrites) {
+            throw new IllegalStateException(name + " lost updates: x " + state.x + ", y " + state.y
+                    + " != " + totalWrites + " writes");
+        }
+        return (Arrays.stream(reads).sum() + totalWrites) / (wallNanos / 1e6);
+    }
+
+    private static int[] parseInts(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
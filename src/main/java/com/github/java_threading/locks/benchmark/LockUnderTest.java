@@ -0,0 +1,208 @@
+package com.github.java_threading.locks.benchmark;
+
+import com.github.java_threading.locks.spin_lock.SpinLock;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * One way of protecting SharedState, as used by LockBenchmarkSuite
+ *
+ * read() and write() wrap SharedState.readBody()/writeBody() in the
+ * lock's own idiom: a synchronized block, lock()/unlock(), read vs write
+ * lock, StampedLock stamps, Semaphore permits. Each instance holds its
+ * own lock, so create a fresh one per run.
+ */
+interface LockUnderTest {
+
+    long read(SharedState state, int criticalWork);
+
+    void write(SharedState state, int criticalWork);
+
+    // ------------------------------------------------------------ factories
+
+    static LockUnderTest synchronizedBlock() {
+        return new LockUnderTest() {
+            private final Object monitor = new Object();
+
+            @Override
+            public long read(SharedState state, int criticalWork) {
+                synchronized (monitor) {
+                    return state.readBody(criticalWork);
+                }
+            }
+
+            @Override
+            public void write(SharedState state, int criticalWork) {
+                synchronized (monitor) {
+                    state.writeBody(criticalWork);
+                }
+            }
+        };
+    }
+
+    /**
+     * Any exclusive Lock: reads and writes both take it
+     */
+    static LockUnderTest exclusive(Lock lock) {
+        return new LockUnderTest() {
+            @Override
+            public long read(SharedState state, int criticalWork) {
+                lock.lock();
+                try {
+                    return state.readBody(criticalWork);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void write(SharedState state, int criticalWork) {
+                lock.lock();
+                try {
+                    state.writeBody(criticalWork);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Any ReadWriteLock: reads share the read lock
+     */
+    static LockUnderTest readWrite(ReadWriteLock rwLock) {
+        Lock readLock = rwLock.readLock();
+        Lock writeLock = rwLock.writeLock();
+        return new LockUnderTest() {
+            @Override
+            public long read(SharedState state, int criticalWork) {
+                readLock.lock();
+                try {
+                    return state.readBody(criticalWork);
+                } finally {
+                    readLock.unlock();
+                }
+            }
+
+            @Override
+            public void write(SharedState state, int criticalWork) {
+                writeLock.lock();
+                try {
+                    state.writeBody(criticalWork);
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        };
+    }
+
+    static LockUnderTest reentrantLock(boolean fair) {
+        return exclusive(new ReentrantLock(fair));
+    }
+
+    static LockUnderTest reentrantReadWriteLock() {
+        return readWrite(new ReentrantReadWriteLock());
+    }
+
+    static LockUnderTest spinLock() {
+        return exclusive(new SpinLock());
+    }
+
+    /**
+     * Binary semaphore used as a mutex
+     */
+    static LockUnderTest semaphore() {
+        Semaphore semaphore = new Semaphore(1);
+        return new LockUnderTest() {
+            @Override
+            public long read(SharedState state, int criticalWork) {
+                semaphore.acquireUninterruptibly();
+                try {
+                    return state.readBody(criticalWork);
+                } finally {
+                    semaphore.release();
+                }
+            }
+
+            @Override
+            public void write(SharedState state, int criticalWork) {
+                semaphore.acquireUninterruptibly();
+                try {
+                    state.writeBody(criticalWork);
+                } finally {
+                    semaphore.release();
+                }
+            }
+        };
+    }
+
+    /**
+     * StampedLock readLock()/writeLock(), no optimistic reads
+     */
+    static LockUnderTest stampedPessimistic() {
+        StampedLock lock = new StampedLock();
+        return new LockUnderTest() {
+            @Override
+            public long read(SharedState state, int criticalWork) {
+                long stamp = lock.readLock();
+                try {
+                    return state.readBody(criticalWork);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+
+            @Override
+            public void write(SharedState state, int criticalWork) {
+                long stamp = lock.writeLock();
+                try {
+                    state.writeBody(criticalWork);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+        };
+    }
+
+    /**
+     * StampedLock optimistic read: copy the fields, validate, and only take
+     * the read lock if a writer got in between. The work on the copies
+     * happens after validation, outside any lock.
+     */
+    static LockUnderTest stampedOptimistic() {
+        StampedLock lock = new StampedLock();
+        return new LockUnderTest() {
+            @Override
+            public long read(SharedState state, int criticalWork) {
+                long stamp = lock.tryOptimisticRead();
+                long x = state.x;
+                long y = state.y;
+                if (!lock.validate(stamp)) {
+                    stamp = lock.readLock();
+                    try {
+                        x = state.x;
+                        y = state.y;
+                    } finally {
+                        lock.unlockRead(stamp);
+                    }
+                }
+                return SharedState.check(x, y, criticalWork);
+            }
+
+            @Override
+            public void write(SharedState state, int criticalWork) {
+                long stamp = lock.writeLock();
+                try {
+                    state.writeBody(criticalWork);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.java_threading.locks.benchmark;
+
+/**
+ * The data every lock under test protects
+ *
+ * Invariant: x == y. A write updates x, works, then updates y, so a
+ * reader that is not properly excluded from writers can see x != y.
+ * Every read checks the invariant; a broken lock shows up as a
+ * violation count instead of a wrong-but-fast number.
+ *
+ * The fields are plain (not volatile): making them visible and
+ * consistent is the lock's job.
+ */
+final class SharedState {
+
+    static final long INCONSISTENT = Long.MIN_VALUE;
+
+    long x;
+    long y;
+    private long scratch;  // Result of the writer's work, keeps it from being optimized away
+
+    /**
+     * Critical section of a read: reads both fields and does criticalWork
+     * steps. Returns INCONSISTENT if x != y.
+     */
+    long readBody(int criticalWork) {
+        return check(x, y, criticalWork);
+    }
+
+    /**
+     * Critical section of a write
+     */
+    void writeBody(int criticalWork) {
+        long next = x + 1;
+        x = next;
+        scratch = mix(scratch + next, criticalWork);
+        y = next;
+    }
+
+    /**
+     * The read work on copies of the fields; optimistic readers call it
+     * directly and validate afterwards
+     */
+    static long check(long x, long y, int criticalWork) {
+        return x != y ? INCONSISTENT : mix(x, criticalWork);
+    }
+
+    static long mix(long value, int steps) {
+        for (int i = 0; i < steps; i++) {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+        }
+        return value;
+    }
+}
@@ -1,10 +1,12 @@
 package com.github.java_threading.locks.condition;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Condition Examples
@@ -45,6 +47,10 @@ public class ConditionMain {
         // Example 5: signalAll vs signal
         System.out.println("\n=== Example 5: signalAll vs signal ===");
         signalAllExample();
+
+        // Example 6: parallel stream over the buffer contents
+        System.out.println("\n=== Example 6: Parallel Stream over the Buffer ===");
+        bufferStreamExample();
     }
 
     /**
@@ -308,45 +314,79 @@ public class ConditionMain {
         System.out.println("Use signalAll() when state change could satisfy multiple waiters");
     }
 
+    /**
+     * Example 6: query the buffered items with a (parallel) stream
+     * The items are streamed in place, under the buffer's lock
+     */
+    public static void bufferStreamExample() throws InterruptedException {
+        BoundedBuffer<Integer> buffer = new BoundedBuffer<>(8);
+        for (int i = 1; i <= 8; i++) {
+            buffer.put(i);
+        }
+        buffer.take();  // Move head forward so the contents wrap around the array
+        buffer.take();
+        buffer.put(9);
+        buffer.put(10);
+
+        String contents = buffer.stream(s -> s.map(String::valueOf).collect(Collectors.joining(", ")));
+        System.out.println("Buffer contents (oldest first): " + contents);
+
+        int sumOfSquares = buffer.parallelStream(s -> s.mapToInt(v -> v * v).sum());
+        System.out.println("Sum of squares (parallel): " + sumOfSquares);
+
+        System.out.println("Even items (parallel, order kept): "
+                + buffer.parallelStream(s -> s.filter(v -> v % 2 == 0).toList()));
+    }
+
     /**
      * Classic bounded buffer implementation using Condition
      * This is the preferred way over wait()/notify()
+     *
+     * Backed by a circular array (like ArrayBlockingQueue), which also lets
+     * stream()/parallelStream() run over the contents in place.
      */
     static class BoundedBuffer<T> {
-        private final Queue<T> queue = new LinkedList<>();
-        private final int capacity;
+        private final Object[] items;
+        private int head = 0;   // Slot of the oldest item
+        private int count = 0;
         private final Lock lock = new ReentrantLock();
         private final Condition notFull = lock.newCondition();   // Producers wait on this
         private final Condition notEmpty = lock.newCondition();  // Consumers wait on this
 
         public BoundedBuffer(int capacity) {
-            this.capacity = capacity;
+            this.items = new Object[capacity];
         }
 
         public void put(T item) throws InterruptedException {
             lock.lock();
             try {
                 // Wait while buffer is full
-                while (queue.size() == capacity) {
+                while (count == items.length) {
                     System.out.println("Buffer full, producer waiting...");
                     notFull.await();  // Wait for space
                 }
-                queue.add(item);
+                int tail = head + count;
+                items[tail >= items.length ? tail - items.length : tail] = item;
+                count++;
                 notEmpty.signal();  // Signal consumers that data is available
             } finally {
                 lock.unlock();
             }
         }
 
+        @SuppressWarnings("unchecked")
         public T take() throws InterruptedException {
             lock.lock();
             try {
                 // Wait while buffer is empty
-                while (queue.isEmpty()) {
+                while (count == 0) {
                     System.out.println("Buffer empty, consumer waiting...");
                     notEmpty.await();  // Wait for data
                 }
-                T item = queue.remove();
+                T item = (T) items[head];
+                items[head] = null;  // Let GC reclaim it
+                head = head + 1 == items.length ? 0 : head + 1;
+                count--;
                 notFull.signal();  // Signal producers that space is available
                 return item;
             } finally {
@@ -357,7 +397,39 @@ public class ConditionMain {
         public int size() {
             lock.lock();
             try {
-                return queue.size();
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Runs query over a stream of the buffered items, oldest first,
+         * without copying them.
+         *
+         * The lock is held until query returns, so producers and consumers
+         * wait and the stream sees a consistent buffer. Only the calling
+         * thread owns the lock: for a parallel stream the fork/join workers
+         * read the array without it, which is safe because nobody can write
+         * while we hold it. Don't call put()/take() from inside the query.
+         */
+        public <R> R stream(Function<? super Stream<T>, R> query) {
+            return query(query, false);
+        }
+
+        /**
+         * Same as stream(), with a parallel stream. The spliterator splits
+         * the buffer into exact halves, so chunks are evenly sized.
+         */
+        public <R> R parallelStream(Function<? super Stream<T>, R> query) {
+            return query(query, true);
+        }
+
+        private <R> R query(Function<? super Stream<T>, R> query, boolean parallel) {
+            lock.lock();
+            try {
+                return query.apply(StreamSupport.stream(
+                        new RingBufferSpliterator<T>(items, head, 0, count), parallel));
             } finally {
                 lock.unlock();
             }
@@ -0,0 +1,86 @@
+package com.github.java_threading.locks.condition;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the live contents of a circular array, no copy
+ *
+ * Works on LOGICAL indexes [index, fence): logical 0 is the oldest element
+ * (items[head]) and the physical slot wraps around the end of the array.
+ *
+ * - trySplit() halves the logical range, so both halves always know their
+ *   exact size (SIZED | SUBSIZED) and parallel streams get even chunks
+ *   down to single elements, exactly like an ArrayList spliterator.
+ * - forEachRemaining() walks at most two contiguous runs of the array
+ *   (before and after the wrap) instead of computing a modulo per element.
+ *
+ * Not thread-safe by itself: the buffer must not change while this
+ * spliterator is in use (see BoundedBuffer.stream()).
+ */
+final class RingBufferSpliterator<T> implements Spliterator<T> {
+
+    private final Object[] items;
+    private final int head;   // Physical slot of logical index 0
+    private int index;        // Next logical index, inclusive
+    private final int fence;  // Logical end, exclusive
+
+    RingBufferSpliterator(Object[] items, int head, int index, int fence) {
+        this.items = items;
+        this.head = head;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    private int physical(int logical) {
+        int slot = head + logical;
+        return slot >= items.length ? slot - items.length : slot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept((T) items[physical(index++)]);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        int from = physical(index);
+        int remaining = fence - index;
+        index = fence;
+
+        int firstRun = Math.min(remaining, items.length - from);
+        for (int i = from; i < from + firstRun; i++) {
+            action.accept((T) items[i]);
+        }
+        for (int i = 0; i < remaining - firstRun; i++) {  // Wrapped part
+            action.accept((T) items[i]);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int lo = index;
+        int mid = (lo + fence) >>> 1;
+        if (lo >= mid) {
+            return null;
+        }
+        index = mid;
+        return new RingBufferSpliterator<>(items, head, lo, mid);  // Prefix, keeps ORDERED correct
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;  // Not NONNULL: BoundedBuffer accepts null elements
+    }
+}
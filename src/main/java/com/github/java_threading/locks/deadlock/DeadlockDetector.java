@@ -0,0 +1,98 @@
+package com.github.java_threading.locks.deadlock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodic ThreadMXBean.findDeadlockedThreads() check
+ *
+ * The JVM already knows who owns which monitor and which
+ * AbstractOwnableSynchronizer (ReentrantLock, ReentrantReadWriteLock
+ * write lock), and who waits for it; findDeadlockedThreads() looks for
+ * cycles in that. It finds deadlocks that have happened, where
+ * LockOrderVerifier warns about ones that could. Locks that do not
+ * record an owner with the JVM (SpinLock, the queue locks, Semaphore,
+ * read locks) are invisible to it.
+ *
+ * A daemon thread runs the check every period; each deadlocked set of
+ * threads is reported once. The check is a safepoint operation but cheap
+ * at a period of seconds.
+ */
+public final class DeadlockDetector implements AutoCloseable {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final int STACK_DEPTH = 8;
+
+    private final Consumer<String> listener;
+    private final Set<Set<Long>> reported = new HashSet<>();  // Guarded by this
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "deadlock-detector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DeadlockDetector(Consumer<String> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts checking every period; the listener gets a thread dump of
+     * each newly deadlocked set of threads
+     */
+    public static DeadlockDetector start(Duration period, Consumer<String> listener) {
+        DeadlockDetector detector = new DeadlockDetector(listener);
+        long millis = period.toMillis();
+        detector.scheduler.scheduleWithFixedDelay(() -> {
+            String report = detector.check();
+            if (report != null) {
+                listener.accept(report);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+        return detector;
+    }
+
+    /**
+     * One check now: a report of deadlocked threads not reported before, or
+     * null
+     */
+    public synchronized String check() {
+        long[] ids = THREADS.findDeadlockedThreads();
+        if (ids == null) {
+            return null;
+        }
+        Set<Long> key = new HashSet<>(Arrays.stream(ids).boxed().toList());
+        if (!reported.add(key)) {
+            return null;
+        }
+        ThreadInfo[] infos = THREADS.getThreadInfo(ids, true, true);
+        StringBuilder sb = new StringBuilder("Deadlock: " + ids.length + " threads");
+        for (ThreadInfo info : infos) {
+            if (info == null) {
+                continue;  // Thread ended meanwhile
+            }
+            sb.append(System.lineSeparator()).append("  \"").append(info.getThreadName())
+                    .append("\" waits for ").append(info.getLockName())
+                    .append(" held by \"").append(info.getLockOwnerName()).append('"');
+            List<StackTraceElement> stack = Arrays.asList(info.getStackTrace());
+            for (StackTraceElement frame : stack.subList(0, Math.min(STACK_DEPTH, stack.size()))) {
+                sb.append(System.lineSeparator()).append("      at ").append(frame);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
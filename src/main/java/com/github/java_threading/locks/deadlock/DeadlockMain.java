@@ -0,0 +1,147 @@
+package com.github.java_threading.locks.deadlock;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class DeadlockMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        DeadlockMain example = new DeadlockMain();
+
+        // Example 1: Inversion reported although the threads never collide
+        System.out.println("=== Example 1: Lock-Order Inversion ===");
+        example.lockOrderInversionExample();
+
+        // Example 2: tryLock() breaks the cycle, no report
+        System.out.println("\n=== Example 2: tryLock() Is Not An Ordering ===");
+        example.tryLockExample();
+
+        // Example 3: A real deadlock found by the detector
+        System.out.println("\n=== Example 3: Deadlock Detector ===");
+        example.deadlockDetectorExample();
+
+        // Example 4: Disabled mode
+        System.out.println("\n=== Example 4: Disabled Mode ===");
+        example.disabledExample();
+    }
+
+    /**
+     * Example 1: transfer() takes accounts then audit, report() takes audit
+     * then accounts. Run one after the other they can never deadlock, and
+     * a test would pass; run concurrently under load they eventually do.
+     * The verifier reports the cycle on the first run of report().
+     */
+    public void lockOrderInversionExample() throws InterruptedException {
+        LockOrderVerifier verifier = new LockOrderVerifier(System.out::println);
+        Lock accounts = verifier.track("accounts", new ReentrantLock());
+        Lock audit = verifier.track("audit", new ReentrantLock());
+
+        Thread transfer = new Thread(() -> lockBoth(accounts, audit), "Transfer");
+        transfer.start();
+        transfer.join();
+
+        Thread report = new Thread(() -> lockBoth(audit, accounts), "Report");
+        report.start();
+        report.join();
+
+        // A ReadWriteLock is one node: the same inversion through it
+        Lock config = verifier.track("config", new ReentrantReadWriteLock()).writeLock();
+        lockBoth(config, accounts);
+        lockBoth(audit, config);
+    }
+
+    /**
+     * Example 2: The reverse order through tryLock() cannot wait forever,
+     * so it is not recorded
+     */
+    public void tryLockExample() {
+        LockOrderVerifier verifier = new LockOrderVerifier(System.out::println);
+        Lock first = verifier.track("first", new ReentrantLock());
+        Lock second = verifier.track("second", new ReentrantLock());
+
+        lockBoth(first, second);
+        second.lock();
+        try {
+            if (first.tryLock()) {
+                try {
+                    System.out.println("Holding " + verifier.heldByCurrentThread() + " without an inversion report");
+                } finally {
+                    first.unlock();
+                }
+            }
+        } finally {
+            second.unlock();
+        }
+    }
+
+    /**
+     * Example 3: Two threads really deadlock. findDeadlockedThreads() sees
+     * the cycle through the ReentrantLocks' owners; the threads use
+     * lockInterruptibly() so the demo can break it afterwards.
+     */
+    public void deadlockDetectorExample() throws InterruptedException {
+        Lock left = new ReentrantLock();
+        Lock right = new ReentrantLock();
+        CountDownLatch bothHoldOne = new CountDownLatch(2);
+        CountDownLatch reported = new CountDownLatch(1);
+
+        Thread t1 = new Thread(() -> holdThenLock(left, right, bothHoldOne), "Left-Then-Right");
+        Thread t2 = new Thread(() -> holdThenLock(right, left, bothHoldOne), "Right-Then-Left");
+
+        DeadlockDetector detector = DeadlockDetector.start(Duration.ofMillis(100), report -> {
+            System.out.println(report);
+            reported.countDown();
+        });
+        try {
+            t1.start();
+            t2.start();
+            reported.await();
+        } finally {
+            detector.close();
+        }
+        t1.interrupt();
+        t2.interrupt();
+        t1.join();
+        t2.join();
+        System.out.println("Deadlock broken by interrupting both threads");
+    }
+
+    /**
+     * Example 4: Disabled, track() returns the lock itself: nothing to pay
+     * for in production
+     */
+    public void disabledExample() {
+        Lock lock = new ReentrantLock();
+        System.out.println("global() enabled (-D" + LockOrderVerifier.ENABLED_PROPERTY + "=true): "
+                + LockOrderVerifier.global().isEnabled());
+        System.out.println("disabled().track(lock) == lock: "
+                + (LockOrderVerifier.disabled().track("lock", lock) == lock));
+    }
+
+    private static void lockBoth(Lock first, Lock second) {
+        first.lock();
+        try {
+            second.lock();
+            second.unlock();
+        } finally {
+            first.unlock();
+        }
+    }
+
+    private static void holdThenLock(Lock first, Lock second, CountDownLatch bothHoldOne) {
+        first.lock();
+        try {
+            bothHoldOne.countDown();
+            bothHoldOne.await();
+            second.lockInterruptibly();
+            second.unlock();
+        } catch (InterruptedException e) {
+            System.out.println(Thread.currentThread().getName() + " interrupted while waiting");
+        } finally {
+            first.unlock();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.github.java_threading.locks.deadlock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Finds lock-order inversions before they deadlock
+ *
+ * A deadlock needs two threads taking the same locks in opposite order
+ * AT THE SAME TIME. The inversion itself is there on every run, the
+ * unlucky timing only under load. So record the order instead of
+ * waiting for the timing: whenever a thread blocks on lock B while
+ * holding A, add the edge A -> B to a graph shared by all threads. If B
+ * can already reach A, some thread has taken them the other way round:
+ * report the cycle, even if the two threads never actually collided.
+ *
+ * - Only blocking acquisitions (lock(), lockInterruptibly()) add edges;
+ *   tryLock() cannot wait forever and is the usual way to break an order
+ * - Re-acquiring a lock the thread already holds adds nothing
+ * - A ReadWriteLock is one node: read-read cycles cannot deadlock, but
+ *   any cycle with a writer in it can
+ * - An edge is checked once, when first seen: after that the cost of a
+ *   tracked lock() is a thread-local list scan and a map lookup per
+ *   lock already held
+ *
+ * Disabled mode (the default for global() unless -Dlockorder.verify=true):
+ * track() returns the lock it was given, so the tracking calls can stay
+ * in production code at no cost.
+ *
+ * Nodes live as long as the verifier: meant for long-lived locks, not a
+ * lock per request.
+ */
+public final class LockOrderVerifier {
+
+    public static final String ENABLED_PROPERTY = "lockorder.verify";
+
+    private static final LockOrderVerifier DISABLED = new LockOrderVerifier(false, inversion -> { });
+    private static final LockOrderVerifier GLOBAL = Boolean.getBoolean(ENABLED_PROPERTY)
+            ? new LockOrderVerifier(inversion -> System.err.println(inversion)) : DISABLED;
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /**
+     * Locks taken in an order that closes a cycle. cycle starts and ends
+     * with the lock being acquired; firstSeen says where each existing
+     * edge of the cycle was recorded.
+     */
+    public record Inversion(String thread, String site, List<String> cycle, List<String> firstSeen) {
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Lock-order inversion: " + String.join(" -> ", cycle))
+                    .append(System.lineSeparator()).append("  now: ").append(thread).append(" at ").append(site);
+            for (String edge : firstSeen) {
+                sb.append(System.lineSeparator()).append("  earlier: ").append(edge);
+            }
+            return sb.toString();
+        }
+    }
+
+    static final class Node {
+        final String name;
+        final Map<Node, String> successors = new ConcurrentHashMap<>();  // -> where the edge was first seen
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    private final boolean enabled;
+    private final Consumer<Inversion> listener;
+    private final ThreadLocal<List<Node>> held = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * An enabled verifier. The listener runs in the acquiring thread before
+     * it blocks; throw from it to fail fast (in tests)
+     */
+    public LockOrderVerifier(Consumer<Inversion> listener) {
+        this(true, listener);
+    }
+
+    private LockOrderVerifier(boolean enabled, Consumer<Inversion> listener) {
+        this.enabled = enabled;
+        this.listener = listener;
+    }
+
+    /**
+     * Enabled with -Dlockorder.verify=true (reports to System.err),
+     * otherwise disabled
+     */
+    public static LockOrderVerifier global() {
+        return GLOBAL;
+    }
+
+    public static LockOrderVerifier disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Lock track(String name, Lock lock) {
+        return enabled ? new OrderedLock(lock, new Node(name), this) : lock;
+    }
+
+    public ReadWriteLock track(String name, ReadWriteLock rwLock) {
+        if (!enabled) {
+            return rwLock;
+        }
+        Node node = new Node(name);
+        Lock readLock = new OrderedLock(rwLock.readLock(), node, this);
+        Lock writeLock = new OrderedLock(rwLock.writeLock(), node, this);
+        return new ReadWriteLock() {
+            @Override
+            public Lock readLock() {
+                return readLock;
+            }
+
+            @Override
+            public Lock writeLock() {
+                return writeLock;
+            }
+        };
+    }
+
+    /**
+     * Names of the tracked locks the current thread holds, in order taken
+     */
+    public List<String> heldByCurrentThread() {
+        return held.get().stream().map(node -> node.name).toList();
+    }
+
+    // ------------------------------------------------------------ OrderedLock hooks
+
+    /**
+     * Before a blocking acquisition: record held -> node for every held lock
+     */
+    void beforeBlocking(Node node) {
+        List<Node> locks = held.get();
+        if (locks.isEmpty() || locks.contains(node)) {
+            return;
+        }
+        for (int i = 0; i < locks.size(); i++) {
+            Node from = locks.get(i);
+            if (!from.successors.containsKey(node)) {
+                addEdge(from, node);
+            }
+        }
+    }
+
+    void acquired(Node node) {
+        held.get().add(node);
+    }
+
+    void released(Node node) {
+        List<Node> locks = held.get();
+        int index = locks.lastIndexOf(node);  // Locks need not be released in reverse order
+        if (index >= 0) {
+            locks.remove(index);
+        }
+    }
+
+    private void addEdge(Node from, Node to) {
+        String thread = Thread.currentThread().getName();
+        String callSite = callSite();
+        String site = thread + " at " + callSite;
+        List<Node> path;
+        synchronized (this) {
+            if (from.successors.containsKey(to)) {
+                return;  // Another thread added it meanwhile
+            }
+            path = findPath(to, from);
+            from.successors.put(to, site);
+        }
+        if (path != null) {
+            List<String> cycle = new ArrayList<>();
+            List<String> firstSeen = new ArrayList<>();
+            cycle.add(to.name);
+            for (int i = 1; i < path.size(); i++) {
+                Node prev = path.get(i - 1);
+                Node next = path.get(i);
+                cycle.add(next.name);
+                firstSeen.add(prev.name + " -> " + next.name + ": " + prev.successors.get(next));
+            }
+            cycle.add(to.name);
+            listener.accept(new Inversion(thread, callSite,
+                    Collections.unmodifiableList(cycle), Collections.unmodifiableList(firstSeen)));
+        }
+    }
+
+    // Breadth-first search over recorded edges; the path from start to target or null
+    private static List<Node> findPath(Node start, Node target) {
+        Map<Node, Node> parent = new HashMap<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        parent.put(start, start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (node == target) {
+                List<Node> path = new ArrayList<>();
+                for (Node n = target; n != start; n = parent.get(n)) {
+                    path.add(n);
+                }
+                path.add(start);
+                Collections.reverse(path);
+                return path;
+            }
+            for (Node next : node.successors.keySet()) {
+                if (parent.putIfAbsent(next, node) == null) {
+                    queue.add(next);
+                }
+            }
+        }
+        return null;
+    }
+
+    // First frame outside the verifier: the code asking for the lock
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(LockOrderVerifier.class.getName())
+                        && !frame.getClassName().equals(OrderedLock.class.getName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "."
+                            + frame.getMethodName() + ":" + frame.getLineNumber();
+                })
+                .orElse("unknown"));
+    }
+}
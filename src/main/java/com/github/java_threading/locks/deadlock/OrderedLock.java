@@ -0,0 +1,70 @@
+package com.github.java_threading.locks.deadlock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A Lock that tells its LockOrderVerifier what the current thread holds
+ * and what it is about to block on. Created by LockOrderVerifier.track().
+ */
+final class OrderedLock implements Lock {
+
+    private final Lock delegate;
+    private final LockOrderVerifier.Node node;
+    private final LockOrderVerifier verifier;
+
+    OrderedLock(Lock delegate, LockOrderVerifier.Node node, LockOrderVerifier verifier) {
+        this.delegate = delegate;
+        this.node = node;
+        this.verifier = verifier;
+    }
+
+    @Override
+    public void lock() {
+        verifier.beforeBlocking(node);
+        delegate.lock();
+        verifier.acquired(node);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        verifier.beforeBlocking(node);
+        delegate.lockInterruptibly();
+        verifier.acquired(node);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (delegate.tryLock()) {
+            verifier.acquired(node);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        if (delegate.tryLock(time, unit)) {
+            verifier.acquired(node);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        delegate.unlock();
+        verifier.released(node);
+    }
+
+    @Override
+    public Condition newCondition() {
+        return delegate.newCondition();
+    }
+
+    @Override
+    public String toString() {
+        return "OrderedLock[" + node.name + ", " + delegate + "]";
+    }
+}
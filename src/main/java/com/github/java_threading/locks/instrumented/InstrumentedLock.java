@@ -0,0 +1,203 @@
+package com.github.java_threading.locks.instrumented;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock decorator that profiles contention continuously
+ *
+ * Every acquisition first tries the delegate without waiting:
+ * - success: uncontended, costs a ThreadLocal lookup and a counter
+ *   increment on top of the raw lock (no clock read, no shared write)
+ * - failure: contended. Only now is the clock read, the delegate is
+ *   locked normally, and the wait time and call site (StackWalker, a few
+ *   microseconds, paid by a thread that was going to wait anyway) are
+ *   recorded.
+ *
+ * Hold time (outermost lock() to its unlock()) is timed for every
+ * contended acquisition, where the clock was read anyway, and for one
+ * in holdSampleInterval uncontended ones.
+ *
+ * Counts go to a per-thread Recorder and are merged into the shared
+ * LockStats on unlock every FLUSH_EVERY acquisitions or after
+ * FLUSH_INTERVAL_NANOS, so threads never contend on the statistics.
+ * Call flush() before a short-lived thread ends to not lose its tail.
+ *
+ * Fair ReentrantLocks and read locks are probed with tryLock(0,
+ * NANOSECONDS), which respects the queue, instead of tryLock(), which
+ * would barge: a read tryLock() passes a queued writer that lock() waits
+ * behind, so the probe would let readers starve writers.
+ * A delegate Condition's await() counts as holding the lock.
+ */
+public class InstrumentedLock implements Lock {
+
+    public static final int DEFAULT_HOLD_SAMPLE_INTERVAL = 16;
+    public static final int FLUSH_EVERY = 1024;
+    public static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final Lock delegate;
+    private final LockStats stats;
+    private final int holdSampleMask;
+    private final boolean queuedProbe;  // Probe with tryLock(0, NANOSECONDS)
+    private final ThreadLocal<LockStats.Recorder> recorders = ThreadLocal.withInitial(LockStats.Recorder::new);
+
+    public InstrumentedLock(String name, Lock delegate) {
+        this(name, delegate, DEFAULT_HOLD_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param holdSampleInterval time one in this many uncontended holds, a
+     *                           power of two (1 = every hold)
+     */
+    public InstrumentedLock(String name, Lock delegate, int holdSampleInterval) {
+        this(name, delegate, holdSampleInterval, delegate instanceof ReentrantLock lock && lock.isFair());
+    }
+
+    InstrumentedLock(String name, Lock delegate, int holdSampleInterval, boolean queuedProbe) {
+        if (holdSampleInterval <= 0 || Integer.bitCount(holdSampleInterval) != 1) {
+            throw new IllegalArgumentException("holdSampleInterval must be a power of two: " + holdSampleInterval);
+        }
+        this.delegate = delegate;
+        this.stats = new LockStats(name);
+        this.holdSampleMask = holdSampleInterval - 1;
+        this.queuedProbe = queuedProbe;
+    }
+
+    public LockStats stats() {
+        return stats;
+    }
+
+    /**
+     * Merges the current thread's pending counts into stats()
+     */
+    public void flush() {
+        stats.merge(recorders.get(), System.nanoTime());
+    }
+
+    @Override
+    public void lock() {
+        LockStats.Recorder recorder = recorders.get();
+        boolean acquired;
+        try {
+            acquired = tryWithoutWaiting();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();  // lock() ignores interrupts, keep the status
+            acquired = false;
+        }
+        if (acquired) {
+            uncontended(recorder);
+            return;
+        }
+        long start = System.nanoTime();
+        delegate.lock();
+        contended(recorder, start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        LockStats.Recorder recorder = recorders.get();
+        if (tryWithoutWaiting()) {
+            uncontended(recorder);
+            return;
+        }
+        long start = System.nanoTime();
+        delegate.lockInterruptibly();
+        contended(recorder, start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        LockStats.Recorder recorder = recorders.get();
+        if (delegate.tryLock()) {
+            uncontended(recorder);
+            return true;
+        }
+        recorder.failedTryLocks++;
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        LockStats.Recorder recorder = recorders.get();
+        if (tryWithoutWaiting()) {
+            uncontended(recorder);
+            return true;
+        }
+        long start = System.nanoTime();
+        if (delegate.tryLock(time, unit)) {
+            contended(recorder, start);
+            return true;
+        }
+        recorder.failedTryLocks++;
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        LockStats.Recorder recorder = recorders.get();
+        long end = recorder.holdSampled && recorder.depth == 1 ? System.nanoTime() : 0;
+        delegate.unlock();  // Throws if not held: nothing recorded
+        if (recorder.depth == 0 || --recorder.depth > 0) {
+            return;
+        }
+        if (recorder.holdSampled) {
+            recorder.holdSampled = false;
+            recorder.held(end - recorder.holdStart);
+            if (end - recorder.lastFlush >= FLUSH_INTERVAL_NANOS) {
+                stats.merge(recorder, end);
+                return;
+            }
+        }
+        if (recorder.acquisitions >= FLUSH_EVERY) {
+            stats.merge(recorder, System.nanoTime());
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        return delegate.newCondition();
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedLock[" + stats.name() + ", " + delegate + "]";
+    }
+
+    private boolean tryWithoutWaiting() throws InterruptedException {
+        return queuedProbe ? delegate.tryLock(0, TimeUnit.NANOSECONDS) : delegate.tryLock();
+    }
+
+    private void uncontended(LockStats.Recorder recorder) {
+        long acquisitions = ++recorder.acquisitions;
+        if (recorder.depth++ == 0 && (acquisitions & holdSampleMask) == 0) {
+            recorder.holdSampled = true;
+            recorder.holdStart = System.nanoTime();
+        }
+    }
+
+    private void contended(LockStats.Recorder recorder, long start) {
+        long now = System.nanoTime();
+        recorder.acquisitions++;
+        recorder.contended(callSite(), now - start);
+        if (recorder.depth++ == 0) {
+            recorder.holdSampled = true;
+            recorder.holdStart = now;
+        }
+    }
+
+    // First frame outside this class: who asked for the lock
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(InstrumentedLock.class.getName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "."
+                            + frame.getMethodName() + ":" + frame.getLineNumber();
+                })
+                .orElse("unknown"));
+    }
+}
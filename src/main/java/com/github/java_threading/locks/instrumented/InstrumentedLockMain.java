@@ -0,0 +1,167 @@
+package com.github.java_threading.locks.instrumented;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InstrumentedLockMain {
+
+    private final InstrumentedLock accountLock = new InstrumentedLock("accounts", new ReentrantLock());
+    private long balance;        // Guarded by accountLock
+    private volatile boolean running;
+
+    public static void main(String[] args) throws InterruptedException {
+        InstrumentedLockMain example = new InstrumentedLockMain();
+
+        // Example 1: Continuous contention profile with call sites
+        System.out.println("=== Example 1: Contention Profile ===");
+        example.contentionProfileExample();
+
+        // Example 2: Read and write side of a ReadWriteLock
+        System.out.println("\n=== Example 2: Instrumented ReadWriteLock ===");
+        example.readWriteLockExample();
+
+        // Example 3: Cost of an uncontended acquisition
+        System.out.println("\n=== Example 3: Uncontended Overhead ===");
+        example.overheadExample();
+    }
+
+    /**
+     * Example 1: Two code paths share one lock. transfer() holds it long,
+     * audit() briefly. A reporter prints the statistics while the threads
+     * run, the way a metrics exporter would.
+     */
+    public void contentionProfileExample() throws InterruptedException {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> System.out.println(accountLock.stats().snapshot() + "\n"),
+                200, 200, TimeUnit.MILLISECONDS);
+
+        running = true;
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            boolean transfers = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                while (running) {
+                    if (transfers) {
+                        transfer();
+                    } else {
+                        audit();
+                    }
+                }
+                accountLock.flush();  // Thread ends: merge what it has not flushed yet
+            }, transfers ? "Transfer" : "Audit");
+            threads[t].start();
+        }
+        Thread.sleep(650);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        reporter.shutdownNow();
+
+        System.out.println("Final: " + accountLock.stats().snapshot());
+        System.out.println("Balance: " + balance);
+    }
+
+    private void transfer() {
+        accountLock.lock();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                balance += i & 1;
+            }
+        } finally {
+            accountLock.unlock();
+        }
+    }
+
+    private void audit() {
+        accountLock.lock();
+        try {
+            if (balance < 0) {
+                throw new IllegalStateException("negative balance");
+            }
+        } finally {
+            accountLock.unlock();
+        }
+        Thread.onSpinWait();
+    }
+
+    /**
+     * Example 2: Readers mostly share the read lock; they only count as
+     * contended when the writer is in
+     */
+    public void readWriteLockExample() throws InterruptedException {
+        InstrumentedReadWriteLock rwLock = new InstrumentedReadWriteLock("config", new ReentrantReadWriteLock());
+        long[] config = new long[1];
+
+        Runnable reader = () -> {
+            for (int i = 0; i < 200_000; i++) {
+                rwLock.readLock().lock();
+                try {
+                    if (config[0] < 0) {
+                        throw new IllegalStateException();
+                    }
+                } finally {
+                    rwLock.readLock().unlock();
+                }
+            }
+            rwLock.flush();
+        };
+        Runnable writer = () -> {
+            for (int i = 0; i < 200; i++) {
+                rwLock.writeLock().lock();
+                try {
+                    config[0]++;
+                } finally {
+                    rwLock.writeLock().unlock();
+                }
+                Thread.yield();
+            }
+            rwLock.flush();
+        };
+
+        Thread[] threads = {new Thread(reader), new Thread(reader), new Thread(writer)};
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println(rwLock.readLock().stats().snapshot());
+        System.out.println(rwLock.writeLock().stats().snapshot());
+    }
+
+    /**
+     * Example 3: One thread, no contention: the wrapper adds a ThreadLocal
+     * lookup and a counter per acquisition, and a clock read pair for
+     * the sampled holds
+     */
+    public void overheadExample() {
+        int iterations = 5_000_000;
+        for (int round = 0; round < 3; round++) {
+            long raw = timeLocks(new ReentrantLock(), iterations);
+            InstrumentedLock instrumented = new InstrumentedLock("overhead", new ReentrantLock());
+            long wrapped = timeLocks(instrumented, iterations);
+            instrumented.flush();
+            System.out.printf("Round %d: ReentrantLock %.1f ns, InstrumentedLock %.1f ns per lock/unlock"
+                            + " (%,d counted)%n", round + 1, raw / (double) iterations, wrapped / (double) iterations,
+                    instrumented.stats().snapshot().acquisitions());
+        }
+    }
+
+    private long timeLocks(Lock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lock.lock();
+            try {
+                balance++;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.java_threading.locks.instrumented;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ReadWriteLock decorator: an InstrumentedLock around each side
+ *
+ * Read and write sides keep separate statistics ("name.read",
+ * "name.write"). A read acquisition counts as contended only when it had
+ * to wait (for a writer, or behind a queued writer); other readers
+ * holding the lock do not make it contended. The read side is always
+ * probed with tryLock(0, NANOSECONDS): tryLock() would barge past a
+ * queued writer that a plain lock() waits behind.
+ */
+public class InstrumentedReadWriteLock implements ReadWriteLock {
+
+    private final InstrumentedLock readLock;
+    private final InstrumentedLock writeLock;
+
+    public InstrumentedReadWriteLock(String name, ReadWriteLock delegate) {
+        this(name, delegate, InstrumentedLock.DEFAULT_HOLD_SAMPLE_INTERVAL);
+    }
+
+    public InstrumentedReadWriteLock(String name, ReadWriteLock delegate, int holdSampleInterval) {
+        boolean fair = delegate instanceof ReentrantReadWriteLock lock && lock.isFair();
+        this.readLock = new InstrumentedLock(name + ".read", delegate.readLock(), holdSampleInterval, true);
+        this.writeLock = new InstrumentedLock(name + ".write", delegate.writeLock(), holdSampleInterval, fair);
+    }
+
+    @Override
+    public InstrumentedLock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public InstrumentedLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Merges the current thread's pending counts of both sides
+     */
+    public void flush() {
+        readLock.flush();
+        writeLock.flush();
+    }
+}
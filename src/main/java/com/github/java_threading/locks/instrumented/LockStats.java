@@ -0,0 +1,157 @@
+package com.github.java_threading.locks.instrumented;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contention statistics of one InstrumentedLock
+ *
+ * Threads do not write here on every acquisition: each thread counts in
+ * its own Recorder and merges it in every InstrumentedLock.FLUSH_EVERY
+ * acquisitions (or FLUSH_INTERVAL_NANOS, or on flush()). A snapshot is
+ * therefore slightly behind: up to FLUSH_EVERY - 1 acquisitions per
+ * thread may not be merged yet.
+ */
+public final class LockStats {
+
+    public static final int TOP_CALL_SITES = 5;
+
+    /**
+     * Where contended acquisitions came from
+     */
+    public record CallSite(String site, long contended, long waitNanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%-45s %,8d contended %,14d ns waited", site, contended, waitNanos);
+        }
+    }
+
+    /**
+     * Hold times are sampled (see InstrumentedLock), so avgHoldNanos and
+     * maxHoldNanos describe the samples; everything else counts every
+     * acquisition that has been flushed.
+     */
+    public record Snapshot(String lock, long acquisitions, long contended, long failedTryLocks,
+                           long avgWaitNanos, long maxWaitNanos, long avgHoldNanos, long maxHoldNanos,
+                           List<CallSite> topCallSites) {
+
+        public double contendedPercent() {
+            return acquisitions == 0 ? 0 : 100.0 * contended / acquisitions;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "%s: %,d acquisitions, %,d contended (%.1f%%), %,d failed tryLock%n"
+                            + "  wait (contended only) avg %,d ns max %,d ns, hold avg %,d ns max %,d ns",
+                    lock, acquisitions, contended, contendedPercent(), failedTryLocks,
+                    avgWaitNanos, maxWaitNanos, avgHoldNanos, maxHoldNanos));
+            for (CallSite site : topCallSites) {
+                sb.append(System.lineSeparator()).append("  ").append(site);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Per-thread counters, only touched by their thread until merged
+     */
+    static final class Recorder {
+        long acquisitions;
+        long contended;
+        long failedTryLocks;
+        long waitNanos;
+        long maxWaitNanos;
+        long holdSamples;
+        long holdNanos;
+        long maxHoldNanos;
+        final Map<String, long[]> sites = new HashMap<>();  // site -> {contended, waitNanos}
+
+        int depth;             // Nesting of this thread's holds (reentrant delegates)
+        boolean holdSampled;   // The current outermost hold is being timed
+        long holdStart;
+        long lastFlush = System.nanoTime();
+
+        void contended(String site, long wait) {
+            contended++;
+            waitNanos += wait;
+            maxWaitNanos = Math.max(maxWaitNanos, wait);
+            long[] counts = sites.computeIfAbsent(site, s -> new long[2]);
+            counts[0]++;
+            counts[1] += wait;
+        }
+
+        void held(long hold) {
+            holdSamples++;
+            holdNanos += hold;
+            maxHoldNanos = Math.max(maxHoldNanos, hold);
+        }
+    }
+
+    private final String name;
+    // Guarded by this
+    private long acquisitions;
+    private long contended;
+    private long failedTryLocks;
+    private long waitNanos;
+    private long maxWaitNanos;
+    private long holdSamples;
+    private long holdNanos;
+    private long maxHoldNanos;
+    private final Map<String, long[]> sites = new HashMap<>();
+
+    LockStats(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Adds the recorder's counts and resets it
+     */
+    synchronized void merge(Recorder recorder, long now) {
+        acquisitions += recorder.acquisitions;
+        contended += recorder.contended;
+        failedTryLocks += recorder.failedTryLocks;
+        waitNanos += recorder.waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, recorder.maxWaitNanos);
+        holdSamples += recorder.holdSamples;
+        holdNanos += recorder.holdNanos;
+        maxHoldNanos = Math.max(maxHoldNanos, recorder.maxHoldNanos);
+        recorder.sites.forEach((site, counts) -> {
+            long[] total = sites.computeIfAbsent(site, s -> new long[2]);
+            total[0] += counts[0];
+            total[1] += counts[1];
+        });
+
+        recorder.acquisitions = 0;
+        recorder.contended = 0;
+        recorder.failedTryLocks = 0;
+        recorder.waitNanos = 0;
+        recorder.maxWaitNanos = 0;
+        recorder.holdSamples = 0;
+        recorder.holdNanos = 0;
+        recorder.maxHoldNanos = 0;
+        recorder.sites.clear();
+        recorder.lastFlush = now;
+    }
+
+    /**
+     * Totals so far; call sites ordered by total time waited
+     */
+    public synchronized Snapshot snapshot() {
+        List<CallSite> top = new ArrayList<>();
+        sites.forEach((site, counts) -> top.add(new CallSite(site, counts[0], counts[1])));
+        top.sort(Comparator.comparingLong(CallSite::waitNanos).reversed());
+        return new Snapshot(name, acquisitions, contended, failedTryLocks,
+                contended == 0 ? 0 : waitNanos / contended, maxWaitNanos,
+                holdSamples == 0 ? 0 : holdNanos / holdSamples, maxHoldNanos,
+                List.copyOf(top.subList(0, Math.min(TOP_CALL_SITES, top.size()))));
+    }
+}
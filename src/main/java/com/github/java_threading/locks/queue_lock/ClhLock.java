@@ -0,0 +1,116 @@
+package com.github.java_threading.locks.queue_lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * CLH queue lock (Craig, Landin and Hagersten)
+ *
+ * The queue is implicit: each waiter only knows its PREDECESSOR's node
+ * and spins on that node's "locked" flag.
+ *
+ *   tail -> [T3 locked] -> pred [T2 locked] -> pred [T1 owner, locked]
+ *
+ * - lock():   myNode.locked = true; pred = tail.getAndSet(myNode);
+ *             spin while pred.locked
+ * - unlock(): myNode.locked = false -> exactly one waiter (the one behind
+ *             us) sees it; one cache line transfer per handoff
+ * - FIFO order (fair); unlock is a single write, never waits
+ *
+ * Node recycling: after unlock our node may still be read by our
+ * successor, but our predecessor's node is no longer used by anyone, so
+ * we take it over as our node for the next lock(). Each thread owns
+ * exactly one node at any time and nothing is allocated after warm-up.
+ * This is also why AQS (behind ReentrantLock) is a CLH variant.
+ *
+ * Not reentrant. lockInterruptibly() only checks the interrupt status
+ * before queuing, and tryLock(timeout) polls tryLock() without queuing.
+ * Waiters yield after McsLock.SPINS_BEFORE_YIELD spins.
+ */
+public class ClhLock implements Lock {
+
+    private static final class Node {
+        volatile boolean locked;
+        Node pred;  // Only used by the thread that owns this node
+    }
+
+    private final AtomicReference<Node> tail = new AtomicReference<>(new Node());  // Unlocked dummy
+    private final ThreadLocal<Node> myNode = ThreadLocal.withInitial(Node::new);
+    private Thread owner;  // Written only by the owner, for unlock() checks
+
+    @Override
+    public void lock() {
+        Node node = myNode.get();
+        node.locked = true;
+        Node pred = tail.getAndSet(node);
+        node.pred = pred;
+        int spins = 0;
+        while (pred.locked) {
+            Thread.onSpinWait();
+            if (++spins > McsLock.SPINS_BEFORE_YIELD) {
+                Thread.yield();
+            }
+        }
+        owner = Thread.currentThread();
+    }
+
+    @Override
+    public void unlock() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("ClhLock is not held by " + Thread.currentThread().getName());
+        }
+        owner = null;
+        Node node = myNode.get();
+        Node pred = node.pred;
+        node.pred = null;
+        node.locked = false;   // The handoff
+        myNode.set(pred);      // Recycle: nobody reads pred any more
+    }
+
+    @Override
+    public boolean tryLock() {
+        Node pred = tail.get();
+        if (pred.locked) {
+            return false;
+        }
+        Node node = myNode.get();
+        node.locked = true;
+        if (tail.compareAndSet(pred, node)) {
+            node.pred = pred;
+            owner = Thread.currentThread();
+            return true;
+        }
+        node.locked = false;
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        while (!tryLock()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        lock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("ClhLock does not support conditions");
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.java_threading.locks.queue_lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * MCS queue lock (Mellor-Crummey and Scott)
+ *
+ * Waiters form an explicit linked queue. Each waiter spins on the
+ * "locked" flag of ITS OWN node, and the releasing thread clears exactly
+ * that flag:
+ *
+ *   tail -> [T3] <- next - [T2] <- next - [T1 owner]
+ *
+ * - lock():   tail.getAndSet(myNode); link pred.next = myNode; spin on
+ *             myNode.locked (a line only we and our predecessor touch)
+ * - unlock(): if there is a successor, clear successor.locked: ONE cache
+ *             line transfer per handoff, no matter how many waiters
+ * - FIFO order (fair), no thundering herd on release
+ *
+ * Compared to CLH, the waiter spins on a node it owns, which is what
+ * matters on NUMA machines without coherent caches for remote memory.
+ * The price is a slightly longer unlock: when the tail CAS fails, a
+ * successor is mid-enqueue and we wait for it to link itself.
+ *
+ * Nodes are per thread and per lock (a ThreadLocal) and reused for every
+ * acquisition: lock/unlock allocate nothing after the first call.
+ *
+ * Not reentrant. lockInterruptibly() only checks the interrupt status
+ * before queuing (a queued waiter cannot leave the queue), and
+ * tryLock(timeout) polls tryLock() without queuing.
+ * Waiters spin; after SPINS_BEFORE_YIELD they also yield, so more
+ * threads than cores degrade gracefully instead of stalling.
+ */
+public class McsLock implements Lock {
+
+    static final int SPINS_BEFORE_YIELD = 1 << 10;
+
+    private static final class Node {
+        volatile boolean locked;
+        volatile Node next;
+    }
+
+    private final AtomicReference<Node> tail = new AtomicReference<>();
+    private final ThreadLocal<Node> myNode = ThreadLocal.withInitial(Node::new);
+    private Thread owner;  // Written only by the owner, for unlock() checks
+
+    @Override
+    public void lock() {
+        Node node = myNode.get();
+        node.next = null;
+        node.locked = true;
+        Node pred = tail.getAndSet(node);
+        if (pred != null) {
+            pred.next = node;
+            int spins = 0;
+            while (node.locked) {
+                Thread.onSpinWait();
+                if (++spins > SPINS_BEFORE_YIELD) {
+                    Thread.yield();
+                }
+            }
+        }
+        owner = Thread.currentThread();
+    }
+
+    @Override
+    public void unlock() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("McsLock is not held by " + Thread.currentThread().getName());
+        }
+        owner = null;
+        Node node = myNode.get();
+        Node successor = node.next;
+        if (successor == null) {
+            if (tail.compareAndSet(node, null)) {
+                return;  // Nobody waiting
+            }
+            // A thread swapped itself into tail but has not linked yet
+            while ((successor = node.next) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        successor.locked = false;  // The handoff: one write to the successor's node
+    }
+
+    @Override
+    public boolean tryLock() {
+        Node node = myNode.get();
+        node.next = null;
+        node.locked = true;
+        if (tail.get() == null && tail.compareAndSet(null, node)) {
+            owner = Thread.currentThread();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        while (!tryLock()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        lock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("McsLock does not support conditions");
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.java_threading.locks.queue_lock;
+
+import com.github.java_threading.locks.spin_lock.LockThroughput;
+import com.github.java_threading.locks.spin_lock.SpinLock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * MCS and CLH vs SpinLock (CASMain's lock) vs ReentrantLock
+ *
+ * What to look for on a many-core box:
+ * - SpinLock throughput drops as threads are added: every release is
+ *   seen by every waiter at once, and they all race for the same line
+ * - MCS/CLH stay flat: one line transfer per handoff, FIFO, fairness ~1.0
+ * - With more threads than cores, queue locks suffer: the next thread in
+ *   line may not be running (they yield, but strict FIFO still costs)
+ *
+ * Usage: QueueLockBenchmark [durationMillis] [criticalWork] [outsideWork]
+ */
+public class QueueLockBenchmark {
+
+    private static final int[] THREAD_COUNTS = {2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws InterruptedException {
+        long duration = args.length > 0 ? Long.parseLong(args[0]) : 300;
+        int criticalWork = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int outsideWork = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        System.out.printf("CPUs: %d, %d ms per run, criticalWork %d, outsideWork %d%n",
+                cpus, duration, criticalWork, outsideWork);
+
+        Map<String, Supplier<Lock>> locks = new LinkedHashMap<>();
+        locks.put("MCS", McsLock::new);
+        locks.put("CLH", ClhLock::new);
+        locks.put("SpinLock", SpinLock::new);
+        locks.put("ReentrantLock", ReentrantLock::new);
+
+        for (Supplier<Lock> lock : locks.values()) {
+            LockThroughput.run("warmup", lock.get(), Math.min(4, cpus), duration, criticalWork, outsideWork);
+        }
+        for (int threads : THREAD_COUNTS) {
+            System.out.println();
+            for (Map.Entry<String, Supplier<Lock>> lock : locks.entrySet()) {
+                System.out.println(LockThroughput.run(lock.getKey(), lock.getValue().get(), threads, duration,
+                        criticalWork, outsideWork));
+            }
+        }
+    }
+}
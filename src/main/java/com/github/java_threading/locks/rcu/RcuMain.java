@@ -0,0 +1,208 @@
+package com.github.java_threading.locks.rcu;
+
+import com.github.java_threading.locks.read_write_lock.cache.ThreadSafeCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RcuMain {
+
+    private static final int ROUTES = 64;
+
+    private volatile boolean running;
+
+    public static void main(String[] args) throws InterruptedException {
+        RcuMain example = new RcuMain();
+
+        // Example 1: Routing table, RcuReference vs ThreadSafeCache (ReadWriteLock)
+        System.out.println("=== Example 1: Read-Mostly Routing Table ===");
+        example.routingTableExample(4, 300);
+
+        // Example 2: Releasing a resource only after its grace period
+        System.out.println("\n=== Example 2: Grace Period ===");
+        example.gracePeriodExample(4, 300);
+
+        // Example 3: Concurrent writers, no lost updates, no lock
+        System.out.println("\n=== Example 3: Concurrent Writers ===");
+        example.concurrentWritersExample();
+    }
+
+    /**
+     * Example 1: Readers look routes up continuously; a writer changes one
+     * route every 10 ms. The lock-based cache takes the read lock on every
+     * lookup; the RCU readers only load the current map.
+     */
+    public void routingTableExample(int readerThreads, long durationMillis) throws InterruptedException {
+        Map<String, String> initial = new HashMap<>();
+        for (int i = 0; i < ROUTES; i++) {
+            initial.put("route-" + i, "host-" + i);
+        }
+
+        RcuReference<Map<String, String>> table = new RcuReference<>(Map.copyOf(initial));
+        long[] rcu = run(readerThreads, durationMillis,
+                route -> table.get().get(route),
+                version -> table.update(routes -> {
+                    Map<String, String> copy = new HashMap<>(routes);
+                    copy.put("route-" + (version % ROUTES), "host-" + version);
+                    return Map.copyOf(copy);
+                }));
+
+        ThreadSafeCache<String, String> cache = new ThreadSafeCache<>();
+        initial.forEach(cache::put);
+        long[] locked = run(readerThreads, durationMillis,
+                cache::get,
+                version -> cache.put("route-" + (version % ROUTES), "host-" + version));
+
+        System.out.printf("RcuReference:    %,12d lookups %,6d updates%n", rcu[0], rcu[1]);
+        System.out.printf("ThreadSafeCache: %,12d lookups %,6d updates%n", locked[0], locked[1]);
+        System.out.println("route-0 -> " + table.get().get("route-0") + " (every reader sees one whole table)");
+    }
+
+    /**
+     * Example 2: Each table version owns a buffer that must be released
+     * explicitly (think off-heap memory). Readers inside read() never see
+     * a released buffer; the release runs once the last of them is out.
+     * Releasing right after the swap instead (no grace period) frees
+     * buffers under readers that loaded them a moment earlier.
+     */
+    public void gracePeriodExample(int readerThreads, long durationMillis) throws InterruptedException {
+        RcuReference<RouteBuffer> safe = new RcuReference<>(new RouteBuffer(0));
+        AtomicLong released = new AtomicLong();
+        long[] ops = run(readerThreads, durationMillis,
+                route -> safe.read(RouteBuffer::lookup),
+                version -> safe.set(new RouteBuffer(version), buffer -> {
+                    buffer.release();
+                    released.incrementAndGet();
+                }));
+        safe.synchronize();
+        System.out.printf("read() + onRetired: %,10d lookups, %,d buffers released, %,d used after release%n",
+                ops[0], released.get(), RouteBuffer.USED_AFTER_RELEASE.getAndSet(0));
+
+        RcuReference<RouteBuffer> unsafe = new RcuReference<>(new RouteBuffer(0));
+        ops = run(readerThreads, durationMillis,
+                route -> unsafe.get().lookup(),
+                version -> unsafe.set(new RouteBuffer(version)).release());
+        System.out.printf("get() + release:    %,10d lookups, %,d used after release%n",
+                ops[0], RouteBuffer.USED_AFTER_RELEASE.getAndSet(0));
+        System.out.println("(0 in the second line only means no reader was preempted at the wrong moment)");
+    }
+
+    /**
+     * Example 3: Where ReadWriteLockMain takes the write lock and downgrades
+     * to read what it wrote, update() returns the snapshot it published.
+     * Two writers increment concurrently; a lost CAS only means a retry.
+     */
+    public void concurrentWritersExample() throws InterruptedException {
+        record Counter(long value, String lastWriter) {
+        }
+        RcuReference<Counter> counter = new RcuReference<>(new Counter(0, "none"));
+
+        Runnable increments = () -> {
+            String name = Thread.currentThread().getName();
+            for (int i = 0; i < 100_000; i++) {
+                counter.update(c -> new Counter(c.value() + 1, name));
+            }
+        };
+        Thread first = new Thread(increments, "writer-1");
+        Thread second = new Thread(increments, "writer-2");
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        Counter published = counter.update(c -> new Counter(c.value() + 1, "main"));
+        System.out.println("Published by main: " + published + " (expected value 200001)");
+        System.out.println("compareAndSet with an equal copy (identity, not equals()): "
+                + counter.compareAndSet(new Counter(published.value(), "main"), new Counter(0, "main")));
+    }
+
+    /**
+     * Stands in for an off-heap resource: using it after release() is a
+     * use-after-free, counted instead of crashing
+     */
+    private static final class RouteBuffer {
+        static final AtomicLong USED_AFTER_RELEASE = new AtomicLong();
+
+        private final long version;
+        private volatile boolean released;
+
+        RouteBuffer(long version) {
+            this.version = version;
+        }
+
+        long lookup() {
+            long result = version;
+            for (int i = 0; i < 32; i++) {
+                result = result * 31 + i;  // Some work between load and check
+            }
+            if (released) {
+                USED_AFTER_RELEASE.incrementAndGet();
+            }
+            return result;
+        }
+
+        void release() {
+            released = true;
+        }
+    }
+
+    private interface Reader {
+        Object read(String route);
+    }
+
+    private interface Writer {
+        void write(long version);
+    }
+
+    // {reads, writes}
+    private long[] run(int readerThreads, long durationMillis, Reader reader, Writer writer)
+            throws InterruptedException {
+        long[] reads = new long[readerThreads];
+        long[] writes = new long[1];
+        Thread[] threads = new Thread[readerThreads + 1];
+        running = true;
+        for (int r = 0; r < readerThreads; r++) {
+            int index = r;
+            threads[r] = new Thread(() -> {
+                String[] routes = new String[ROUTES];
+                for (int i = 0; i < ROUTES; i++) {
+                    routes[i] = "route-" + i;
+                }
+                int i = index;
+                while (running) {
+                    if (reader.read(routes[i++ & (ROUTES - 1)]) == null) {
+                        throw new IllegalStateException("Route missing");
+                    }
+                    reads[index]++;
+                }
+            });
+        }
+        threads[readerThreads] = new Thread(() -> {
+            long version = 0;
+            while (running) {
+                writer.write(++version);
+                try {
+                    Thread.sleep(10);  // Writes are the rare case
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            writes[0] = version;
+        });
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(durationMillis);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long totalReads = 0;
+        for (long r : reads) {
+            totalReads += r;
+        }
+        return new long[]{totalReads, writes[0]};
+    }
+}
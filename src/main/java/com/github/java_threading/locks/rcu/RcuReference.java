@@ -0,0 +1,222 @@
+package com.github.java_threading.locks.rcu;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copy-on-write reference for read-mostly data (RCU: read-copy-update)
+ *
+ * A routing table that changes once a minute and is read millions of
+ * times per second does not need a lock at all:
+ * - read: get() is one volatile load of an immutable snapshot. No lock,
+ *   no CAS, nothing written; readers never wait and never slow a writer
+ * - write: copy the current snapshot, change the copy, publish it with a
+ *   CAS (update() retries if another writer published first)
+ * - the old snapshot stays valid for readers that already loaded it.
+ *   On the heap the GC frees it once nobody references it
+ *
+ * GRACE PERIOD. A snapshot that owns something the GC does not free
+ * (off-heap memory, a file, a pooled buffer) may only be released once no
+ * reader can still use it. Readers that touch such resources do so in a
+ * read section, read(snapshot -> ...), which is counted on the snapshot's
+ * version (striped by thread id, one cache line per stripe). A replaced
+ * version is retired; when all its read sections have ended:
+ * - the onRetired callback given to update() / set() runs (call_rcu),
+ *   at the latest on the next write or reclaim()
+ * - synchronize() returns: it waits for the read sections of every
+ *   retired version (synchronize_rcu)
+ *
+ * A reader counts itself, then re-checks that its version is still
+ * current; the writer swaps the version, then scans the counts. Both are
+ * volatile, so either the writer sees the reader or the reader sees the
+ * new version and retries on it.
+ *
+ * Snapshots must not change after publication (List.copyOf, Map.copyOf,
+ * records). Updater functions may run more than once: no side effects.
+ * Never call synchronize() inside read(): it could wait for itself.
+ */
+public final class RcuReference<T> {
+
+    private static final int STRIDE = 16;  // 16 longs = 128 bytes between stripes: no false sharing
+    private static final int SPINS_BEFORE_YIELD = 1 << 10;
+
+    private static final class Version<T> {
+        final T value;
+        final AtomicLongArray readers;  // Read sections in progress, per stripe
+        Consumer<? super T> onRetired;  // Set before the version is queued
+
+        Version(T value, int stripes) {
+            this.value = value;
+            this.readers = new AtomicLongArray(stripes * STRIDE);
+        }
+
+        boolean drained() {
+            for (int stripe = 0; stripe < readers.length(); stripe += STRIDE) {
+                if (readers.get(stripe) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final AtomicReference<Version<T>> current;
+    private final ConcurrentLinkedQueue<Version<T>> retired = new ConcurrentLinkedQueue<>();
+    private final int stripeMask;
+
+    public RcuReference(T initial) {
+        // One stripe per CPU (at least 4), rounded up to a power of two
+        int stripes = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors()) - 1) << 1;
+        this.stripeMask = stripes - 1;
+        this.current = new AtomicReference<>(new Version<>(Objects.requireNonNull(initial), stripes));
+    }
+
+    // ------------------------------------------------------------ read side
+
+    /**
+     * The current snapshot: one volatile load. Enough for data on the heap;
+     * use read() if the snapshot owns resources released on retirement.
+     */
+    public T get() {
+        return current.get().value;
+    }
+
+    /**
+     * Runs reader on the current snapshot inside a read section: the
+     * snapshot is not retired (its onRetired callback does not run, and
+     * synchronize() does not return) before reader returns. Nestable.
+     */
+    public <R> R read(Function<? super T, ? extends R> reader) {
+        int stripe = stripeIndex(Thread.currentThread().threadId());
+        Version<T> version;
+        while (true) {
+            version = current.get();
+            version.readers.getAndIncrement(stripe);
+            if (current.get() == version) {
+                break;  // Still current after we became visible: a writer now waits for us
+            }
+            version.readers.getAndDecrement(stripe);  // Replaced in between: its writer may not have seen us
+        }
+        try {
+            return reader.apply(version.value);
+        } finally {
+            version.readers.getAndDecrement(stripe);
+        }
+    }
+
+    private int stripeIndex(long threadId) {
+        int hash = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32);
+        return (hash & stripeMask) * STRIDE;
+    }
+
+    // ------------------------------------------------------------ write side
+
+    /**
+     * Publishes updater(current snapshot), retrying the CAS if another
+     * writer published first. If updater returns the snapshot it got,
+     * nothing is published.
+     *
+     * @return the snapshot this call published (or left in place)
+     */
+    public T update(UnaryOperator<T> updater) {
+        return update(updater, null);
+    }
+
+    /**
+     * update(), then onRetired(old snapshot) once no read section can
+     * still see it
+     */
+    public T update(UnaryOperator<T> updater, Consumer<? super T> onRetired) {
+        while (true) {
+            Version<T> old = current.get();
+            T next = Objects.requireNonNull(updater.apply(old.value));
+            if (next == old.value) {
+                return next;  // Retiring it would release a snapshot that stays current
+            }
+            if (publish(old, next, onRetired)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Publishes next if the current snapshot is still expected
+     */
+    public boolean compareAndSet(T expected, T next) {
+        Version<T> old = current.get();
+        return old.value == expected && publish(old, Objects.requireNonNull(next), null);
+    }
+
+    public T set(T next) {
+        return set(next, null);
+    }
+
+    /**
+     * Publishes next unconditionally, then onRetired(old snapshot) once no
+     * read section can still see it
+     *
+     * @return the replaced snapshot (next itself if it was already current)
+     */
+    public T set(T next, Consumer<? super T> onRetired) {
+        Objects.requireNonNull(next);
+        while (true) {
+            Version<T> old = current.get();
+            if (old.value == next || publish(old, next, onRetired)) {
+                return old.value;
+            }
+        }
+    }
+
+    private boolean publish(Version<T> old, T next, Consumer<? super T> onRetired) {
+        Version<T> replacement = new Version<>(next, stripeMask + 1);
+        if (!current.compareAndSet(old, replacement)) {
+            return false;
+        }
+        old.onRetired = onRetired;
+        retired.add(old);  // Queue publishes onRetired to the reclaiming thread
+        reclaim();
+        return true;
+    }
+
+    // ------------------------------------------------------------ grace periods
+
+    /**
+     * Releases every retired snapshot whose read sections have all ended,
+     * without waiting
+     *
+     * @return snapshots still waiting for readers
+     */
+    public int reclaim() {
+        for (Version<T> version : retired) {
+            // remove() succeeds for one thread only: each callback runs once
+            if (version.drained() && retired.remove(version) && version.onRetired != null) {
+                version.onRetired.accept(version.value);
+            }
+        }
+        return retired.size();
+    }
+
+    /**
+     * Waits until no read section can still see a replaced snapshot, then
+     * runs their onRetired callbacks. Read sections on the current
+     * snapshot, and versions retired meanwhile, are not waited for.
+     */
+    public void synchronize() {
+        for (Version<T> version : retired) {
+            int spins = 0;
+            while (!version.drained()) {
+                if (++spins < SPINS_BEFORE_YIELD) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+        reclaim();
+    }
+}
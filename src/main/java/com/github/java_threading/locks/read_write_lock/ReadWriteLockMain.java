@@ -1,5 +1,9 @@
 package com.github.java_threading.locks.read_write_lock;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -27,6 +31,10 @@ public class ReadWriteLockMain {
         // Example 3: Lock downgrading (write -> read)
         System.out.println("\n=== Example 3: Lock Downgrading ===");
         example.lockDowngradingExample();
+
+        // Example 4: A writer that times out must not open the lock for the next one
+        System.out.println("\n=== Example 4: Reader-Biased Lock, Writer Timeout ===");
+        example.readerBiasedTimeoutExample();
     }
 
     /**
@@ -145,6 +153,68 @@ public class ReadWriteLockMain {
             lock.readLock().unlock();  // 4. Release read lock
             System.out.println("Read lock released");
         }
+        System.out.println("(Data that is read far more often than written needs no lock at all: see rcu/RcuMain)");
     }
 
+    /**
+     * Example 4: ReaderBiasedReadWriteLock with a reader on its fast path.
+     * tryLock() has to revoke the bias and wait for the reader's slot; when
+     * it gives up, the lock must stay closed to writers: a following
+     * tryLock() fails too and lock() waits until the reader leaves.
+     * Throws IllegalStateException if a writer gets in next to the reader.
+     */
+    public void readerBiasedTimeoutExample() throws InterruptedException {
+        ReaderBiasedReadWriteLock lock = new ReaderBiasedReadWriteLock();
+        Lock writeLock = lock.writeLock();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        Thread reader = new Thread(() -> {
+            lock.readLock().lock();
+            try {
+                reading.countDown();
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }, "reader");
+        reader.setDaemon(true);  // A failed check must not leave the JVM waiting for it
+        reader.start();
+        reading.await();
+        System.out.println("Reader inside, reader-biased: " + lock.isReaderBiased());
+
+        check(!writeLock.tryLock(), "tryLock() succeeded next to a reader");
+        check(!writeLock.tryLock(20, TimeUnit.MILLISECONDS), "tryLock(20ms) succeeded next to a reader");
+        check(!writeLock.tryLock(), "tryLock() after a timed-out revocation succeeded next to a reader");
+        System.out.println("tryLock() and tryLock(20ms) failed while the reader is inside");
+
+        AtomicBoolean written = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            writeLock.lock();
+            try {
+                written.set(true);
+            } finally {
+                writeLock.unlock();
+            }
+        }, "writer");
+        writer.setDaemon(true);
+        writer.start();
+        writer.join(50);
+        check(!written.get(), "lock() succeeded next to a reader");
+        System.out.println("lock() waits for the reader");
+
+        done.countDown();
+        reader.join();
+        writer.join();
+        check(written.get(), "lock() did not succeed after the reader left");
+        System.out.println("Reader left, writer got the lock");
+    }
+
+    private static void check(boolean condition, String violation) {
+        if (!condition) {
+            throw new IllegalStateException("Mutual exclusion broken: " + violation);
+        }
+    }
 }
@@ -0,0 +1,302 @@
+package com.github.java_threading.locks.read_write_lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-write lock that lets readers skip the shared state word (BRAVO)
+ *
+ * Every ReentrantReadWriteLock reader CASes the same state word (the
+ * reader count) on lock and on unlock. With no writer at all, that one
+ * cache line still travels from core to core on every read.
+ *
+ * BRAVO (Biased Locking for Reader-Writer Locks, Dice & Kogan 2019) puts
+ * a visible-readers table in front of an ordinary read-write lock:
+ * - while the lock is reader-biased, a reader claims ITS OWN slot (picked
+ *   by thread id, one cache line per slot) with a CAS and is done. No
+ *   shared line is written; readers on different cores scale
+ * - a writer takes the underlying write lock, revokes the bias and waits
+ *   until every slot has drained. New readers see the bias is gone and
+ *   take the underlying read lock instead
+ * - revocation is expensive (a scan of the table plus waiting), so the
+ *   bias stays off for INHIBIT_MULTIPLIER times as long as the last
+ *   revocation took (at least MIN_INHIBIT_NANOS); a reader on the slow
+ *   path turns it back on after that. Write-heavy phases therefore run
+ *   at roughly plain RRWL speed instead of revoking on every write
+ *
+ * A reader and the revoking writer follow the Dekker pattern: the reader
+ * CASes its slot, then reads the bias; the writer clears the bias, then
+ * reads the slots. Both are volatile, so at least one sees the other.
+ *
+ * Two threads hashing to the same slot are fine: the second one just
+ * takes the slow path. Reentrant reads are counted per thread (a nested
+ * read must not queue behind a revoking writer that waits for our slot).
+ * Read -> write upgrade throws IllegalStateException (in a
+ * ReentrantReadWriteLock it would deadlock); write -> read downgrade
+ * works. No Conditions: await() would re-acquire the write lock behind
+ * the revocation's back.
+ */
+public class ReaderBiasedReadWriteLock implements ReadWriteLock {
+
+    public static final int INHIBIT_MULTIPLIER = 9;
+    public static final long MIN_INHIBIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int RESTORE_CHECK_INTERVAL = 8;  // Slow-path reads per thread between clock reads
+    private static final int STRIDE = 16;  // 16 longs = 128 bytes between slots: no false sharing
+    private static final int SPINS_BEFORE_YIELD = 1 << 10;
+
+    private static final class ReadHolds {
+        int slot = -1;
+        int slotDepth;  // Reentrant reads on the slot
+        int slowReads;
+    }
+
+    private final ReentrantReadWriteLock underlying = new ReentrantReadWriteLock();
+    private final AtomicLongArray slots;  // Thread id of the reader in slot i * STRIDE, or 0
+    private final int slotMask;
+    private final ThreadLocal<ReadHolds> readHolds = ThreadLocal.withInitial(ReadHolds::new);
+    private final ReadLock readLock = new ReadLock();
+    private final WriteLock writeLock = new WriteLock();
+    private volatile boolean readerBias = true;
+    private volatile long inhibitUntil;
+
+    public ReaderBiasedReadWriteLock() {
+        // 4 slots per CPU (at least 16), rounded up to a power of two
+        this(Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 4) - 1) << 1);
+    }
+
+    /**
+     * @param slotCount visible-reader slots, a power of two; more slots,
+     *                  fewer collisions, longer revocation scans
+     */
+    public ReaderBiasedReadWriteLock(int slotCount) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("slotCount must be a power of two: " + slotCount);
+        }
+        this.slots = new AtomicLongArray(slotCount * STRIDE);
+        this.slotMask = slotCount - 1;
+        this.inhibitUntil = System.nanoTime();
+    }
+
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    public boolean isReaderBiased() {
+        return readerBias;
+    }
+
+    public boolean isWriteLocked() {
+        return underlying.isWriteLocked();
+    }
+
+    // ------------------------------------------------------------ read side
+
+    private final class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            ReadHolds holds = readHolds.get();
+            if (!tryFastRead(holds)) {
+                underlying.readLock().lock();
+                maybeRestoreBias(holds);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            ReadHolds holds = readHolds.get();
+            if (!tryFastRead(holds)) {
+                underlying.readLock().lockInterruptibly();
+                maybeRestoreBias(holds);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            ReadHolds holds = readHolds.get();
+            if (tryFastRead(holds)) {
+                return true;
+            }
+            if (underlying.readLock().tryLock()) {
+                maybeRestoreBias(holds);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            ReadHolds holds = readHolds.get();
+            if (tryFastRead(holds)) {
+                return true;
+            }
+            if (underlying.readLock().tryLock(time, unit)) {
+                maybeRestoreBias(holds);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            ReadHolds holds = readHolds.get();
+            if (holds.slotDepth > 0) {
+                if (--holds.slotDepth == 0) {
+                    slots.set(holds.slot, 0);  // Volatile: a revoking writer may be waiting for it
+                    holds.slot = -1;
+                }
+                return;
+            }
+            underlying.readLock().unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Read locks do not support conditions");
+        }
+    }
+
+    private boolean tryFastRead(ReadHolds holds) {
+        if (holds.slotDepth > 0) {
+            holds.slotDepth++;  // Already visible: a revoking writer waits for us, never the reverse
+            return true;
+        }
+        if (!readerBias) {
+            return false;
+        }
+        long id = Thread.currentThread().threadId();
+        int slot = slotIndex(id);
+        if (slots.compareAndSet(slot, 0, id)) {
+            if (readerBias) {
+                holds.slot = slot;
+                holds.slotDepth = 1;
+                return true;
+            }
+            slots.set(slot, 0);  // Revoked in between: the writer may already own the lock
+        }
+        return false;
+    }
+
+    // Called holding the underlying read lock, so no writer is inside
+    // (unless this thread is the writer, downgrading). Reads the clock only
+    // every RESTORE_CHECK_INTERVAL slow reads of a thread.
+    private void maybeRestoreBias(ReadHolds holds) {
+        if (!readerBias && ++holds.slowReads % RESTORE_CHECK_INTERVAL == 0
+                && System.nanoTime() - inhibitUntil >= 0 && !underlying.isWriteLocked()) {
+            readerBias = true;
+        }
+    }
+
+    private int slotIndex(long threadId) {
+        int hash = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32);
+        return (hash & slotMask) * STRIDE;
+    }
+
+    // ------------------------------------------------------------ write side
+
+    private final class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            checkNoReadHeld();
+            underlying.writeLock().lock();
+            revokeBias(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            checkNoReadHeld();
+            underlying.writeLock().lockInterruptibly();
+            revokeBias(Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean tryLock() {
+            checkNoReadHeld();
+            if (!underlying.writeLock().tryLock()) {
+                return false;
+            }
+            if (!revokeBias(0)) {
+                underlying.writeLock().unlock();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            checkNoReadHeld();
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            if (!underlying.writeLock().tryLock(time, unit)) {
+                return false;
+            }
+            if (!revokeBias(Math.max(0, deadline - System.nanoTime()))) {
+                underlying.writeLock().unlock();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            underlying.writeLock().unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("ReaderBiasedReadWriteLock does not support conditions");
+        }
+    }
+
+    private void checkNoReadHeld() {
+        long id = Thread.currentThread().threadId();
+        if (slots.get(slotIndex(id)) == id  // Only this thread writes its own id
+                || (underlying.getReadHoldCount() > 0 && !underlying.isWriteLockedByCurrentThread())) {
+            throw new IllegalStateException("Cannot upgrade a read lock to the write lock: it would deadlock");
+        }
+    }
+
+    /**
+     * Holding the underlying write lock: turn the bias off and wait for the
+     * visible readers to leave. False if they did not within timeoutNanos.
+     */
+    private boolean revokeBias(long timeoutNanos) {
+        if (!readerBias) {
+            return true;
+        }
+        readerBias = false;
+        long start = System.nanoTime();
+        for (int slot = 0; slot < slots.length(); slot += STRIDE) {
+            int spins = 0;
+            while (slots.get(slot) != 0) {
+                if (System.nanoTime() - start >= timeoutNanos) {
+                    // A reader is still inside: with the bias left off the next
+                    // writer would skip the scan. Safe, we hold the write lock
+                    readerBias = true;
+                    return false;
+                }
+                if (++spins < SPINS_BEFORE_YIELD) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+        long now = System.nanoTime();
+        inhibitUntil = now + Math.max(MIN_INHIBIT_NANOS, (now - start) * INHIBIT_MULTIPLIER);
+        return true;
+    }
+}
@@ -1,5 +1,10 @@
 package com.github.java_threading.locks.read_write_lock.cache;
 
+import com.github.java_threading.locks.read_write_lock.ReaderBiasedReadWriteLock;
+
+import java.util.Arrays;
+import java.util.Map;
+
 /**
  * ReadWriteLock Cache Demo
  *
@@ -74,6 +79,48 @@ public class CacheMain {
         });
         System.out.println("Second getOrCompute returned: " + cached);
 
+        // Demonstrate streaming over the entries (in place, under the read lock)
+        System.out.println("\n=== Parallel Stream Demo ===");
+        ThreadSafeCache<Integer, Integer> numbers = new ThreadSafeCache<>();
+        for (int i = 0; i < 100_000; i++) {
+            numbers.put(i, i % 1_000);
+        }
+        for (int i = 0; i < 100_000; i += 2) {
+            numbers.remove(i);  // Holes are filled by moving the last entry
+        }
+        long total = numbers.parallelStream(s -> s.mapToLong(Map.Entry::getValue).sum());
+        long bigValues = numbers.parallelStream(s -> s.filter(e -> e.getValue() >= 900).count());
+        System.out.println("Entries: " + numbers.size() + ", sum of values: " + total
+                + ", values >= 900: " + bigValues);
+
+        // Same cache, reader-biased lock: readers claim a private slot instead
+        // of CASing the shared reader count
+        System.out.println("\n=== Reader-Biased Lock Demo ===");
+        ReaderBiasedReadWriteLock biasedLock = new ReaderBiasedReadWriteLock();
+        ThreadSafeCache<Integer, Integer> biased = new ThreadSafeCache<>(biasedLock);
+        for (int i = 0; i < 1_000; i++) {
+            biased.put(i, i);
+        }
+        Thread[] readers = new Thread[4];
+        long[] hits = new long[readers.length];
+        for (int r = 0; r < readers.length; r++) {
+            int index = r;
+            readers[r] = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    if (biased.get(i % 1_000) != null) {
+                        hits[index]++;
+                    }
+                }
+            }, "Biased-Reader-" + r);
+            readers[r].start();
+        }
+        biased.put(1_000, 1_000);  // One write: revokes the bias, readers fall back for a while
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        System.out.println("Reads: " + Arrays.stream(hits).sum() + ", size: " + biased.size()
+                + ", reader-biased again: " + biasedLock.isReaderBiased());
+
         System.out.println("\n=== Demo Complete ===");
     }
 }
@@ -1,9 +1,16 @@
 package com.github.java_threading.locks.read_write_lock.cache;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Thread-Safe Cache using ReadWriteLock
@@ -11,11 +18,45 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * - Multiple readers can read simultaneously (shared read lock)
  * - Writers get exclusive access (write lock blocks all readers and writers)
  * - Best for read-heavy workloads where reads vastly outnumber writes
+ *
+ * Storage: the map finds an entry by key, and every entry also sits in a
+ * dense array (entries[0, size), no holes; remove moves the last entry
+ * into the gap). The array is what stream()/parallelStream() split:
+ * exact halves with exact sizes, and no snapshot copy.
  */
 public class ThreadSafeCache<K, V> {
 
-    private final Map<K, V> cache = new HashMap<>();
-    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<K, Entry<K, V>> cache = new HashMap<>();
+    private Entry<?, ?>[] entries = new Entry<?, ?>[INITIAL_CAPACITY];
+    private final ReadWriteLock rwLock;
+
+    /**
+     * Immutable key/value pair that remembers its slot in the dense array.
+     * An update replaces the entry, so an entry seen by a stream never changes.
+     */
+    private static final class Entry<K, V> extends AbstractMap.SimpleImmutableEntry<K, V> {
+        private int slot;
+
+        Entry(K key, V value, int slot) {
+            super(key, value);
+            this.slot = slot;
+        }
+    }
+
+    public ThreadSafeCache() {
+        this(new ReentrantReadWriteLock());
+    }
+
+    /**
+     * Cache guarded by rwLock, e.g. a ReaderBiasedReadWriteLock when reads
+     * dominate on many cores. The cache never nests acquisitions, so any
+     * ReadWriteLock works.
+     */
+    public ThreadSafeCache(ReadWriteLock rwLock) {
+        this.rwLock = rwLock;
+    }
 
     /**
      * Get value from cache (uses read lock - multiple threads can read concurrently)
@@ -23,7 +64,8 @@ public class ThreadSafeCache<K, V> {
     public V get(K key) {
         rwLock.readLock().lock();
         try {
-            return cache.get(key);
+            Entry<K, V> entry = cache.get(key);
+            return entry == null ? null : entry.getValue();
         } finally {
             rwLock.readLock().unlock();
         }
@@ -35,7 +77,7 @@ public class ThreadSafeCache<K, V> {
     public void put(K key, V value) {
         rwLock.writeLock().lock();
         try {
-            cache.put(key, value);
+            store(key, value);
         } finally {
             rwLock.writeLock().unlock();
         }
@@ -47,7 +89,16 @@ public class ThreadSafeCache<K, V> {
     public V remove(K key) {
         rwLock.writeLock().lock();
         try {
-            return cache.remove(key);
+            Entry<K, V> removed = cache.remove(key);
+            if (removed == null) {
+                return null;
+            }
+            int last = cache.size();  // Index of the last entry, after the removal
+            Entry<?, ?> moved = entries[last];
+            entries[removed.slot] = moved;
+            moved.slot = removed.slot;
+            entries[last] = null;
+            return removed.getValue();
         } finally {
             rwLock.writeLock().unlock();
         }
@@ -72,13 +123,13 @@ public class ThreadSafeCache<K, V> {
      * Note: We can't directly upgrade read->write (causes deadlock),
      * so we release read, acquire write, then check again.
      */
-    public V getOrCompute(K key, java.util.function.Function<K, V> computeFunction) {
+    public V getOrCompute(K key, Function<K, V> computeFunction) {
         // First try with read lock
         rwLock.readLock().lock();
         try {
-            V value = cache.get(key);
-            if (value != null) {
-                return value;
+            Entry<K, V> entry = cache.get(key);
+            if (entry != null && entry.getValue() != null) {
+                return entry.getValue();
             }
         } finally {
             rwLock.readLock().unlock();
@@ -88,17 +139,64 @@ public class ThreadSafeCache<K, V> {
         rwLock.writeLock().lock();
         try {
             // Double-check (another thread might have added it)
-            V value = cache.get(key);
-            if (value != null) {
-                return value;
+            Entry<K, V> entry = cache.get(key);
+            if (entry != null && entry.getValue() != null) {
+                return entry.getValue();
             }
 
             // Compute and store
-            value = computeFunction.apply(key);
-            cache.put(key, value);
+            V value = computeFunction.apply(key);
+            store(key, value);
             return value;
         } finally {
             rwLock.writeLock().unlock();
         }
     }
+
+    /**
+     * Runs query over a stream of the cache entries, without copying them.
+     *
+     * The read lock is held until query returns: other readers go on,
+     * writers wait, and the stream sees a consistent cache. Don't call
+     * put()/remove() from inside the query (the write lock would wait
+     * for our own read lock).
+     */
+    public <R> R stream(Function<? super Stream<Map.Entry<K, V>>, R> query) {
+        return query(query, false);
+    }
+
+    /**
+     * Same as stream(), with a parallel stream.
+     *
+     * Only the calling thread holds the read lock; the fork/join workers
+     * read the entries without it, which is safe because no writer can get
+     * in until we release it. The dense array splits into exact halves,
+     * so every worker gets an even share of the entries.
+     */
+    public <R> R parallelStream(Function<? super Stream<Map.Entry<K, V>>, R> query) {
+        return query(query, true);
+    }
+
+    private <R> R query(Function<? super Stream<Map.Entry<K, V>>, R> query, boolean parallel) {
+        rwLock.readLock().lock();
+        try {
+            Spliterator<Map.Entry<K, V>> spliterator = Spliterators.spliterator(
+                    entries, 0, cache.size(), Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            return query.apply(StreamSupport.stream(spliterator, parallel));
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void store(K key, V value) {
+        Entry<K, V> old = cache.get(key);
+        int slot = old != null ? old.slot : cache.size();
+        if (slot == entries.length) {
+            entries = Arrays.copyOf(entries, slot * 2);
+        }
+        Entry<K, V> entry = new Entry<>(key, value, slot);
+        entries[slot] = entry;
+        cache.put(key, entry);
+    }
 }
@@ -186,6 +186,7 @@ public class ReentrantLockMain {
         // the one that has been waiting longest gets the lock next
         System.out.println("\nFair locks guarantee FIFO ordering but have lower throughput");
         System.out.println("Unfair locks have better throughput but may cause starvation");
+        System.out.println("For FIFO order on short critical sections without parking, see spin_lock.TicketLock");
     }
 
     /**
@@ -224,6 +225,7 @@ public class ReentrantLockMain {
         System.out.println("Is held by current thread: " + infoLock.isHeldByCurrentThread());
         System.out.println("Has queued threads: " + infoLock.hasQueuedThreads());
         System.out.println("Queue length: " + infoLock.getQueueLength());
+        System.out.println("(For continuous numbers wrap the lock in locks.instrumented.InstrumentedLock)");
 
         holder.join();
         waiter.join();
@@ -0,0 +1,198 @@
+package com.github.java_threading.locks.spin_lock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Minimal lock contention harness
+ *
+ * N threads loop for a fixed time:
+ *   lock(); counter++ + criticalWork steps on shared state; unlock();
+ *   outsideWork steps on private state
+ *
+ * Measures, per run:
+ * - ops/ms          throughput (lock/unlock pairs)
+ * - busy cores      total thread CPU time / wall time: how much CPU the
+ *                   threads burn, including spinning while waiting
+ * - fairness        fewest ops of any thread / most ops of any thread
+ *                   (1.0 = everyone got the same share)
+ * - latency         optional: time spent in lock() (p50/p99/p99.9/max),
+ *                   from the last LATENCY_SAMPLES acquisitions of each
+ *                   thread; costs two nanoTime() calls per operation
+ * and checks that the counter equals the number of operations (mutual
+ * exclusion really held).
+ *
+ * Running for a fixed time instead of a fixed number of operations keeps
+ * pathological combinations (64 spinning threads on 4 cores) bounded.
+ */
+public final class LockThroughput {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final int LATENCY_SAMPLES = 1 << 16;  // Per thread, power of two
+
+    /**
+     * @param latency null unless measured
+     */
+    public record Result(String lock, int threads, long operations, double opsPerMilli,
+                         double busyCores, double fairness, Latency latency) {
+
+        @Override
+        public String toString() {
+            String result = String.format("%-22s %3d threads %10.0f ops/ms %6.2f busy cores %6.2f fairness",
+                    lock, threads, opsPerMilli, busyCores, fairness);
+            return latency == null ? result : result + "  " + latency;
+        }
+    }
+
+    /**
+     * Time spent waiting in lock(), in nanoseconds
+     */
+    public record Latency(long p50, long p99, long p999, long max) {
+
+        static Latency of(long[] sorted) {
+            if (sorted.length == 0) {
+                return new Latency(0, 0, 0, 0);
+            }
+            return new Latency(percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted[sorted.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, double fraction) {
+            return sorted[(int) Math.min(sorted.length - 1, (long) (fraction * sorted.length))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("wait p50 %,8d ns  p99 %,10d ns  p99.9 %,11d ns  max %,12d ns", p50, p99, p999, max);
+        }
+    }
+
+    private final Lock lock;
+    private final int criticalWork;
+    private final int outsideWork;
+    private long counter;   // Guarded by lock
+    private long shared;    // Guarded by lock
+    private volatile boolean running;
+
+    private LockThroughput(Lock lock, int criticalWork, int outsideWork) {
+        this.lock = lock;
+        this.criticalWork = criticalWork;
+        this.outsideWork = outsideWork;
+    }
+
+    public static Result run(String name, Lock lock, int threads, long durationMillis,
+                             int criticalWork, int outsideWork) throws InterruptedException {
+        return run(name, lock, threads, durationMillis, criticalWork, outsideWork, false);
+    }
+
+    public static Result run(String name, Lock lock, int threads, long durationMillis,
+                             int criticalWork, int outsideWork, boolean measureLatency) throws InterruptedException {
+        return new LockThroughput(lock, criticalWork, outsideWork).run(name, threads, durationMillis, measureLatency);
+    }
+
+    private Result run(String name, int threadCount, long durationMillis, boolean measureLatency)
+            throws InterruptedException {
+        long[] operations = new long[threadCount];
+        long[] cpuNanos = new long[threadCount];
+        long[] sink = new long[threadCount];
+        long[][] waits = new long[threadCount][];
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+
+        for (int t = 0; t < threadCount; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long cpuStart = THREADS.getCurrentThreadCpuTime();
+                long local = index;
+                long ops = 0;
+                if (measureLatency) {
+                    long[] samples = new long[LATENCY_SAMPLES];
+                    while (running) {
+                        long before = System.nanoTime();
+                        lock.lock();
+                        samples[(int) ops & (LATENCY_SAMPLES - 1)] = System.nanoTime() - before;
+                        try {
+                            counter++;
+                            shared = work(shared, criticalWork);
+                        } finally {
+                            lock.unlock();
+                        }
+                        local = work(local, outsideWork);
+                        ops++;
+                    }
+                    waits[index] = ops < LATENCY_SAMPLES ? Arrays.copyOf(samples, (int) ops) : samples;
+                } else {
+                    while (running) {
+                        lock.lock();
+                        try {
+                            counter++;
+                            shared = work(shared, criticalWork);
+                        } finally {
+                            lock.unlock();
+                        }
+                        local = work(local, outsideWork);
+                        ops++;
+                    }
+                }
+                operations[index] = ops;
+                sink[index] = local;  // Keeps the outside work from being optimized away
+                cpuNanos[index] = THREADS.getCurrentThreadCpuTime() - cpuStart;
+            }, name + "-" + t);
+            threads[t].start();
+        }
+
+        ready.await();
+        running = true;
+        long wallStart = System.nanoTime();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long cpu = 0;
+        for (int t = 0; t < threadCount; t++) {
+            total += operations[t];
+            min = Math.min(min, operations[t]);
+            max = Math.max(max, operations[t]);
+            cpu += cpuNanos[t];
+        }
+        if (counter != total) {
+            throw new IllegalStateException(name + " lost updates: counter " + counter + " != " + total);
+        }
+        Latency latency = measureLatency ? Latency.of(merge(waits)) : null;
+        return new Result(name, threadCount, total, total / (wallNanos / 1e6),
+                (double) cpu / wallNanos, max == 0 ? 0 : (double) min / max, latency);
+    }
+
+    private static long[] merge(long[][] waits) {
+        long[] all = Arrays.stream(waits).filter(Objects::nonNull).flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    // A few dependent multiply/add steps the JIT cannot remove
+    private static long work(long value, int steps) {
+        for (int i = 0; i < steps; i++) {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.java_threading.locks.spin_lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SpinLock vs the original CASMain busy-wait vs ReentrantLock
+ *
+ * For 2..64 threads (default), each lock runs LockThroughput for a fixed
+ * time. Watch "busy cores": the naive lock keeps every waiter on a core,
+ * SpinLock parks waiters once the spin budget is spent.
+ *
+ * Usage: SpinLockBenchmark [durationMillis] [criticalWork] [outsideWork]
+ */
+public class SpinLockBenchmark {
+
+    private static final int[] THREAD_COUNTS = {2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws InterruptedException {
+        long duration = args.length > 0 ? Long.parseLong(args[0]) : 300;
+        int criticalWork = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int outsideWork = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        System.out.printf("CPUs: %d, %d ms per run, criticalWork %d, outsideWork %d%n",
+                Runtime.getRuntime().availableProcessors(), duration, criticalWork, outsideWork);
+
+        // Warm up every lock once so the JIT has compiled the paths
+        for (Lock lock : new Lock[]{new NaiveCasLock(), new SpinLock(), new ReentrantLock()}) {
+            LockThroughput.run("warmup", lock, 4, duration, criticalWork, outsideWork);
+        }
+
+        for (int threads : THREAD_COUNTS) {
+            System.out.println();
+            System.out.println(LockThroughput.run("naive CAS (CASMain)", new NaiveCasLock(), threads, duration,
+                    criticalWork, outsideWork));
+            System.out.println(LockThroughput.run("SpinLock", new SpinLock(), threads, duration,
+                    criticalWork, outsideWork));
+            System.out.println(LockThroughput.run("ReentrantLock", new ReentrantLock(), threads, duration,
+                    criticalWork, outsideWork));
+        }
+    }
+
+    /**
+     * The original CASMain.doLock/doUnlock, as a Lock
+     */
+    static final class NaiveCasLock implements Lock {
+        private final AtomicBoolean isLocked = new AtomicBoolean(false);
+
+        @Override
+        public void lock() {
+            while (!isLocked.compareAndSet(false, true)) {
+                // Keep trying until lock is acquired
+            }
+        }
+
+        @Override
+        public void unlock() {
+            isLocked.set(false);
+        }
+
+        @Override
+        public boolean tryLock() {
+            return isLocked.compareAndSet(false, true);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            while (!isLocked.compareAndSet(false, true)) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            while (!isLocked.compareAndSet(false, true)) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("NaiveCasLock does not support conditions");
+        }
+    }
+}
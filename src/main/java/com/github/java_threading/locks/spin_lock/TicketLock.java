@@ -0,0 +1,134 @@
+package com.github.java_threading.locks.spin_lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Ticket lock: FIFO fairness with two counters
+ *
+ * Like the ticket machine at a deli counter:
+ * - lock():   my = nextTicket++ (one getAndIncrement), then wait until
+ *             nowServing == my
+ * - unlock(): nowServing++ (a plain release store, only the owner writes it)
+ * Threads are served strictly in the order they took a ticket, with no
+ * queue nodes and no parking machinery (unlike ReentrantLock(true)).
+ *
+ * Padding: nextTicket is hammered by ARRIVING threads, nowServing is read
+ * by WAITING threads and written by the owner. Kept on the same cache
+ * line, every arrival would invalidate the line all waiters spin on.
+ * Both live in one AtomicLongArray, 16 longs (128 bytes) apart and away
+ * from the array header, so they never share a line (128 also covers
+ * the adjacent-line prefetcher).
+ *
+ * Proportional backoff: a waiter knows how many threads are ahead of it
+ * (my - nowServing). Each of them holds the lock for roughly one critical
+ * section, so it pauses about that many times BACKOFF_PER_WAITER spins
+ * before looking again: fewer reads of the hot line, and the thread next
+ * in line still checks almost continuously.
+ *
+ * Not reentrant, no Conditions. A ticket cannot be given back, so
+ * tryLock(timeout) polls tryLock() and lockInterruptibly() only checks
+ * the interrupt status before taking a ticket. Like every FIFO spin lock
+ * it degrades badly with more threads than cores (waiters yield after a
+ * spin budget to soften that).
+ */
+public class TicketLock implements Lock {
+
+    public static final int DEFAULT_BACKOFF_PER_WAITER = 64;
+    private static final int NEXT_TICKET = 16;
+    private static final int NOW_SERVING = 32;
+    private static final int SPINS_BEFORE_YIELD = 1 << 14;
+
+    private final AtomicLongArray counters = new AtomicLongArray(48);
+    private final int backoffPerWaiter;
+    private Thread owner;  // Written only by the owner, for unlock() checks
+
+    public TicketLock() {
+        this(DEFAULT_BACKOFF_PER_WAITER);
+    }
+
+    public TicketLock(int backoffPerWaiter) {
+        if (backoffPerWaiter < 0) {
+            throw new IllegalArgumentException("backoffPerWaiter must be >= 0");
+        }
+        this.backoffPerWaiter = backoffPerWaiter;
+    }
+
+    @Override
+    public void lock() {
+        long ticket = counters.getAndIncrement(NEXT_TICKET);
+        int spins = 0;
+        long serving;
+        while ((serving = counters.get(NOW_SERVING)) != ticket) {
+            long ahead = ticket - serving;
+            long pause = (ahead - 1) * backoffPerWaiter + 1;
+            for (long i = 0; i < pause; i++) {
+                Thread.onSpinWait();
+            }
+            if (spins < SPINS_BEFORE_YIELD) {
+                spins += (int) Math.min(pause, SPINS_BEFORE_YIELD);
+            } else {
+                Thread.yield();
+            }
+        }
+        owner = Thread.currentThread();
+    }
+
+    @Override
+    public void unlock() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("TicketLock is not held by " + Thread.currentThread().getName());
+        }
+        owner = null;
+        // Only the owner writes nowServing: a release store is enough, no CAS
+        counters.setRelease(NOW_SERVING, counters.get(NOW_SERVING) + 1);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long serving = counters.get(NOW_SERVING);
+        // Free when nobody holds a ticket beyond the one being served
+        if (counters.compareAndSet(NEXT_TICKET, serving, serving + 1)) {
+            owner = Thread.currentThread();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        while (!tryLock()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        lock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("TicketLock does not support conditions");
+    }
+
+    /**
+     * Threads holding or waiting for the lock (a racy estimate)
+     */
+    public int getQueueLength() {
+        return (int) (counters.get(NEXT_TICKET) - counters.get(NOW_SERVING));
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.java_threading.locks.spin_lock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * TicketLock vs fair and unfair ReentrantLock
+ *
+ * Both TicketLock and ReentrantLock(true) are FIFO; the question is what
+ * the fairness costs. Per run: throughput, fairness (min/max ops per
+ * thread) and the distribution of time spent waiting in lock().
+ *
+ * - ReentrantLock(true): every handoff parks/unparks a thread, so
+ *   throughput is low but the tail latency is bounded
+ * - ReentrantLock(): barging keeps throughput high, tail latency and
+ *   fairness suffer (one thread can re-acquire many times in a row)
+ * - TicketLock: FIFO without parking, close to unfair throughput as long
+ *   as there are fewer threads than cores
+ *
+ * Usage: TicketLockBenchmark [durationMillis] [criticalWork] [outsideWork]
+ */
+public class TicketLockBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        long duration = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int criticalWork = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int outsideWork = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        System.out.printf("CPUs: %d, %d ms per run, criticalWork %d, outsideWork %d%n",
+                cpus, duration, criticalWork, outsideWork);
+
+        Map<String, Supplier<Lock>> locks = new LinkedHashMap<>();
+        locks.put("TicketLock", TicketLock::new);
+        locks.put("TicketLock(0 backoff)", () -> new TicketLock(0));
+        locks.put("ReentrantLock(true)", () -> new ReentrantLock(true));
+        locks.put("ReentrantLock()", ReentrantLock::new);
+
+        for (Supplier<Lock> lock : locks.values()) {
+            LockThroughput.run("warmup", lock.get(), 2, duration, criticalWork, outsideWork, true);
+        }
+        for (int threads = 2; threads <= Math.max(8, cpus * 2); threads *= 2) {
+            System.out.println();
+            for (Map.Entry<String, Supplier<Lock>> lock : locks.entrySet()) {
+                System.out.println(LockThroughput.run(lock.getKey(), lock.getValue().get(), threads, duration,
+                        criticalWork, outsideWork, true));
+            }
+        }
+    }
+}
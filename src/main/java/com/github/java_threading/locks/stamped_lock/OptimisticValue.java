@@ -0,0 +1,224 @@
+package com.github.java_threading.locks.stamped_lock;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Seqlock-style holder for a small record of 2..8 long fields
+ *
+ * The optimistic-read-validate-fallback dance of StampedLockMain example
+ * 3, written once:
+ * - write: take the write lock (bumps the version), change the fields,
+ *   unlock (bumps it again)
+ * - read: tryOptimisticRead(), copy the fields, validate(). Retried up to
+ *   optimisticAttempts times; only then the read lock is taken, so a
+ *   stream of writers cannot starve a reader.
+ * A successful optimistic read writes no shared memory: any number of
+ * readers scale without bouncing a cache line between cores.
+ *
+ * Fields are longs; doubles are stored as their raw bits (getDouble,
+ * readDoubles, setDouble, updateDoubles). Fields are only read
+ * optimistically into a copy, never handed to code that could act on a
+ * torn state before validation.
+ *
+ * Not reentrant: do not read or write the value from inside update().
+ */
+public final class OptimisticValue {
+
+    public static final int MIN_FIELDS = 2;
+    public static final int MAX_FIELDS = 8;
+    public static final int DEFAULT_OPTIMISTIC_ATTEMPTS = 3;
+
+    /**
+     * Changes the fields in place, under the write lock
+     */
+    @FunctionalInterface
+    public interface Updater {
+        void update(long[] fields);
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final long[] fields;  // Written under the write lock only
+    private final int optimisticAttempts;
+    private final LongAdder fallbacks = new LongAdder();
+
+    public OptimisticValue(long... initial) {
+        this(initial, DEFAULT_OPTIMISTIC_ATTEMPTS);
+    }
+
+    /**
+     * @param optimisticAttempts optimistic reads before a reader takes the
+     *                           read lock (0 = always lock)
+     */
+    public OptimisticValue(long[] initial, int optimisticAttempts) {
+        if (initial.length < MIN_FIELDS || initial.length > MAX_FIELDS) {
+            throw new IllegalArgumentException("Between " + MIN_FIELDS + " and " + MAX_FIELDS
+                    + " fields, got " + initial.length);
+        }
+        if (optimisticAttempts < 0) {
+            throw new IllegalArgumentException("optimisticAttempts must be >= 0");
+        }
+        this.fields = initial.clone();
+        this.optimisticAttempts = optimisticAttempts;
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    // ------------------------------------------------------------ reads
+
+    /**
+     * Consistent copy of all fields into destination (no allocation)
+     */
+    public void read(long[] destination) {
+        checkLength(destination.length);
+        readInto(destination, null);
+    }
+
+    /**
+     * Consistent copy of all fields, as doubles, into destination
+     */
+    public void readDoubles(double[] destination) {
+        checkLength(destination.length);
+        readInto(null, destination);
+    }
+
+    /**
+     * Consistent copy of all fields
+     */
+    public long[] read() {
+        long[] copy = new long[fields.length];
+        read(copy);
+        return copy;
+    }
+
+    private void readInto(long[] longs, double[] doubles) {
+        for (int attempt = 0; attempt < optimisticAttempts; attempt++) {
+            long stamp = lock.tryOptimisticRead();  // 0 while a writer holds the lock
+            if (stamp != 0) {
+                copyFields(longs, doubles);
+                if (lock.validate(stamp)) {
+                    return;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        fallbacks.increment();
+        long stamp = lock.readLock();
+        try {
+            copyFields(longs, doubles);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void copyFields(long[] longs, double[] doubles) {
+        if (longs != null) {
+            System.arraycopy(fields, 0, longs, 0, fields.length);
+        } else {
+            for (int i = 0; i < fields.length; i++) {
+                doubles[i] = Double.longBitsToDouble(fields[i]);
+            }
+        }
+    }
+
+    private void checkLength(int length) {
+        if (length < fields.length) {
+            throw new IllegalArgumentException("destination holds " + length + " fields, need " + fields.length);
+        }
+    }
+
+    public long get(int index) {
+        for (int attempt = 0; attempt < optimisticAttempts; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                long value = fields[index];
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        fallbacks.increment();
+        long stamp = lock.readLock();
+        try {
+            return fields[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public double getDouble(int index) {
+        return Double.longBitsToDouble(get(index));
+    }
+
+    /**
+     * Reads that had to take the read lock because every optimistic
+     * attempt overlapped a write
+     */
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    // ------------------------------------------------------------ writes
+
+    /**
+     * Replaces all fields at once
+     */
+    public void set(long... values) {
+        if (values.length != fields.length) {
+            throw new IllegalArgumentException("Expected " + fields.length + " fields, got " + values.length);
+        }
+        long stamp = lock.writeLock();
+        try {
+            System.arraycopy(values, 0, fields, 0, fields.length);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void set(int index, long value) {
+        long stamp = lock.writeLock();
+        try {
+            fields[index] = value;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void setDouble(int index, double value) {
+        set(index, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Read-modify-write of several fields as one version change. If the
+     * updater throws, the fields it already changed stay changed.
+     */
+    public void update(Updater updater) {
+        long stamp = lock.writeLock();
+        try {
+            updater.update(fields);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * update() for fields holding doubles: the updater gets and returns
+     * the values as double[] (allocates; writes are the rare path)
+     */
+    public void updateDoubles(Consumer<double[]> updater) {
+        update(bits -> {
+            double[] values = new double[bits.length];
+            for (int i = 0; i < bits.length; i++) {
+                values[i] = Double.longBitsToDouble(bits[i]);
+            }
+            updater.accept(values);
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = Double.doubleToRawLongBits(values[i]);
+            }
+        });
+    }
+}
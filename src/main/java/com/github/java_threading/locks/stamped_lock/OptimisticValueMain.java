@@ -0,0 +1,173 @@
+package com.github.java_threading.locks.stamped_lock;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class OptimisticValueMain {
+
+    private volatile boolean running;
+
+    public static void main(String[] args) throws InterruptedException {
+        OptimisticValueMain example = new OptimisticValueMain();
+
+        // Example 1: x/y coordinates without the hand-written stamp dance
+        System.out.println("=== Example 1: Consistent Coordinates ===");
+        example.coordinatesExample();
+
+        // Example 2: 4-field snapshot, OptimisticValue vs ReentrantReadWriteLock
+        System.out.println("\n=== Example 2: Snapshot Throughput ===");
+        example.throughputExample(4, 300);
+    }
+
+    /**
+     * Example 1: StampedLockMain's x/y point. The writer keeps y == 2 * x;
+     * readers check it on every snapshot.
+     */
+    public void coordinatesExample() throws InterruptedException {
+        OptimisticValue point = new OptimisticValue(Double.doubleToRawLongBits(0), Double.doubleToRawLongBits(0));
+        long[] reads = new long[3];
+        long[] violations = new long[3];
+
+        running = true;
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= 100_000; i++) {
+                double step = i;
+                point.updateDoubles(xy -> {
+                    xy[0] = step;
+                    xy[1] = 2 * step;
+                });
+            }
+            running = false;
+        }, "writer");
+
+        Thread[] readers = new Thread[reads.length];
+        for (int r = 0; r < readers.length; r++) {
+            int index = r;
+            readers[r] = new Thread(() -> {
+                double[] xy = new double[2];  // Reused: no allocation per read
+                while (running) {
+                    point.readDoubles(xy);
+                    if (xy[1] != 2 * xy[0]) {
+                        violations[index]++;
+                    }
+                    reads[index]++;
+                }
+            }, "reader-" + r);
+        }
+
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        long totalReads = 0;
+        long totalViolations = 0;
+        for (int r = 0; r < reads.length; r++) {
+            totalReads += reads[r];
+            totalViolations += violations[r];
+        }
+        System.out.printf("Final point: x=%.0f, y=%.0f%n", point.getDouble(0), point.getDouble(1));
+        System.out.printf("%,d reads, %,d inconsistent, %,d fell back to the read lock%n",
+                totalReads, totalViolations, point.fallbacks());
+    }
+
+    /**
+     * Example 2: Readers take 4-field snapshots while one writer updates
+     * continuously. The read lock writes its reader count on every
+     * acquisition; the optimistic read only reads.
+     */
+    public void throughputExample(int readerThreads, long durationMillis) throws InterruptedException {
+        OptimisticValue optimistic = new OptimisticValue(0, 0, 0, 0);
+        long[] opsOptimistic = run(readerThreads, durationMillis,
+                snapshot -> optimistic.read(snapshot),
+                i -> optimistic.update(f -> {
+                    f[0] = i;
+                    f[1] = i;
+                    f[2] = i;
+                    f[3] = i;
+                }));
+
+        ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+        long[] guarded = new long[4];
+        long[] opsLocked = run(readerThreads, durationMillis,
+                snapshot -> {
+                    rwLock.readLock().lock();
+                    try {
+                        System.arraycopy(guarded, 0, snapshot, 0, 4);
+                    } finally {
+                        rwLock.readLock().unlock();
+                    }
+                },
+                i -> {
+                    rwLock.writeLock().lock();
+                    try {
+                        guarded[0] = i;
+                        guarded[1] = i;
+                        guarded[2] = i;
+                        guarded[3] = i;
+                    } finally {
+                        rwLock.writeLock().unlock();
+                    }
+                });
+
+        System.out.printf("OptimisticValue:        %,12d reads %,10d writes (%,d fallbacks)%n",
+                opsOptimistic[0], opsOptimistic[1], optimistic.fallbacks());
+        System.out.printf("ReentrantReadWriteLock: %,12d reads %,10d writes%n", opsLocked[0], opsLocked[1]);
+    }
+
+    private interface SnapshotReader {
+        void read(long[] snapshot);
+    }
+
+    private interface Writer {
+        void write(long value);
+    }
+
+    // {reads, writes}; throws if a reader saw fields from different writes
+    private long[] run(int readerThreads, long durationMillis, SnapshotReader reader, Writer writer)
+            throws InterruptedException {
+        long[] reads = new long[readerThreads];
+        long[] writes = new long[1];
+        Thread[] threads = new Thread[readerThreads + 1];
+        running = true;
+        for (int r = 0; r < readerThreads; r++) {
+            int index = r;
+            threads[r] = new Thread(() -> {
+                long[] snapshot = new long[4];
+                while (running) {
+                    reader.read(snapshot);
+                    if (snapshot[0] != snapshot[3]) {
+                        throw new IllegalStateException("Torn snapshot " + snapshot[0] + " / " + snapshot[3]);
+                    }
+                    reads[index]++;
+                }
+            });
+        }
+        threads[readerThreads] = new Thread(() -> {
+            long i = 0;
+            while (running) {
+                writer.write(++i);
+                for (int spin = 0; spin < 100; spin++) {
+                    Thread.onSpinWait();  // Writes are the rare case
+                }
+            }
+            writes[0] = i;
+        });
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(durationMillis);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long totalReads = 0;
+        for (long r : reads) {
+            totalReads += r;
+        }
+        return new long[]{totalReads, writes[0]};
+    }
+}
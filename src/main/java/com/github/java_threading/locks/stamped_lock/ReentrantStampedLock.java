@@ -0,0 +1,337 @@
+package com.github.java_threading.locks.stamped_lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * StampedLock that a thread may re-enter
+ *
+ * StampedLockMain example 5: a thread that takes a StampedLock it already
+ * holds blocks forever. Even a second readLock() can, once a writer is
+ * queued between the two. This wrapper remembers what each thread holds:
+ * - write: owner thread + hold count. Re-entry only counts; the
+ *   StampedLock is released with the last unlockWrite()
+ * - read: a per-thread counter (ThreadLocal) and the stamp of the one
+ *   real read lock; re-entry only counts
+ * - read inside write: counted, rides on the write lock. When the write
+ *   lock is released with reads still held, it is converted to a read
+ *   lock (downgrade, like ReentrantReadWriteLock)
+ * - write inside read: tryConvertToWriteLock(), which only works if this
+ *   thread is the only reader. Otherwise waiting could never end (the
+ *   other readers may be waiting for the same upgrade), so writeLock()
+ *   throws IllegalStateException instead of deadlocking
+ *
+ * Stamps disappear from the locking API: the wrapper keeps them. The
+ * optimistic path is StampedLock's own, untouched: tryOptimisticRead()
+ * and validate() delegate directly, no ThreadLocal, no allocation. Inside
+ * its own write lock a thread gets stamp 0 (never valid) and should just
+ * read the fields.
+ */
+public class ReentrantStampedLock {
+
+    private static final class ReadHolds {
+        int count;
+        long stamp;  // The real read lock; 0 while the reads ride on this thread's write lock
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final ThreadLocal<ReadHolds> readHolds = ThreadLocal.withInitial(ReadHolds::new);
+    // Only the owner writes these; another thread can never see itself as owner
+    private Thread writeOwner;
+    private int writeHolds;
+    private long writeStamp;
+
+    // ------------------------------------------------------------ optimistic
+
+    public long tryOptimisticRead() {
+        return lock.tryOptimisticRead();
+    }
+
+    public boolean validate(long stamp) {
+        return lock.validate(stamp);
+    }
+
+    // ------------------------------------------------------------ write
+
+    public void writeLock() {
+        if (reenterWrite()) {
+            return;
+        }
+        ReadHolds holds = readHolds.get();
+        if (holds.count > 0) {
+            if (!upgrade(holds)) {
+                throw new IllegalStateException("Cannot upgrade to the write lock while other threads read:"
+                        + " waiting would deadlock");
+            }
+            return;
+        }
+        ownWrite(lock.writeLock());
+    }
+
+    public void writeLockInterruptibly() throws InterruptedException {
+        if (reenterWrite()) {
+            return;
+        }
+        ReadHolds holds = readHolds.get();
+        if (holds.count > 0) {
+            if (!upgrade(holds)) {
+                throw new IllegalStateException("Cannot upgrade to the write lock while other threads read:"
+                        + " waiting would deadlock");
+            }
+            return;
+        }
+        ownWrite(lock.writeLockInterruptibly());
+    }
+
+    /**
+     * Also fails (instead of throwing) when an upgrade is not possible
+     */
+    public boolean tryWriteLock() {
+        if (reenterWrite()) {
+            return true;
+        }
+        ReadHolds holds = readHolds.get();
+        if (holds.count > 0) {
+            return upgrade(holds);
+        }
+        return ownWrite(lock.tryWriteLock());
+    }
+
+    /**
+     * An upgrade is tried once, without waiting
+     */
+    public boolean tryWriteLock(long time, TimeUnit unit) throws InterruptedException {
+        if (reenterWrite()) {
+            return true;
+        }
+        ReadHolds holds = readHolds.get();
+        if (holds.count > 0) {
+            return upgrade(holds);
+        }
+        return ownWrite(lock.tryWriteLock(time, unit));
+    }
+
+    public void unlockWrite() {
+        if (writeOwner != Thread.currentThread()) {
+            throw new IllegalMonitorStateException("Write lock is not held by " + Thread.currentThread().getName());
+        }
+        if (--writeHolds > 0) {
+            return;
+        }
+        long stamp = writeStamp;
+        writeStamp = 0;
+        writeOwner = null;
+        ReadHolds holds = readHolds.get();
+        if (holds.count > 0) {
+            holds.stamp = lock.tryConvertToReadLock(stamp);  // Downgrade: always succeeds from write mode
+        } else {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ------------------------------------------------------------ read
+
+    public void readLock() {
+        ReadHolds holds = readHolds.get();
+        if (!reenterRead(holds)) {
+            ownRead(holds, lock.readLock());
+        }
+    }
+
+    public void readLockInterruptibly() throws InterruptedException {
+        ReadHolds holds = readHolds.get();
+        if (!reenterRead(holds)) {
+            ownRead(holds, lock.readLockInterruptibly());
+        }
+    }
+
+    public boolean tryReadLock() {
+        ReadHolds holds = readHolds.get();
+        return reenterRead(holds) || ownRead(holds, lock.tryReadLock());
+    }
+
+    public boolean tryReadLock(long time, TimeUnit unit) throws InterruptedException {
+        ReadHolds holds = readHolds.get();
+        return reenterRead(holds) || ownRead(holds, lock.tryReadLock(time, unit));
+    }
+
+    public void unlockRead() {
+        ReadHolds holds = readHolds.get();
+        if (holds.count == 0) {
+            throw new IllegalMonitorStateException("Read lock is not held by " + Thread.currentThread().getName());
+        }
+        if (--holds.count > 0) {
+            return;
+        }
+        if (holds.stamp != 0) {
+            long stamp = holds.stamp;
+            holds.stamp = 0;
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ------------------------------------------------------------ queries
+
+    public boolean isWriteLocked() {
+        return lock.isWriteLocked();
+    }
+
+    public boolean isWriteLockedByCurrentThread() {
+        return writeOwner == Thread.currentThread();
+    }
+
+    public int getWriteHoldCount() {
+        return isWriteLockedByCurrentThread() ? writeHolds : 0;
+    }
+
+    /**
+     * Read holds of the current thread
+     */
+    public int getReadHoldCount() {
+        return readHolds.get().count;
+    }
+
+    /**
+     * Lock views, e.g. for code written against ReadWriteLock. They share
+     * the hold counts with the methods above; no Conditions.
+     */
+    public Lock asReadLock() {
+        return new ReadLockView();
+    }
+
+    public Lock asWriteLock() {
+        return new WriteLockView();
+    }
+
+    public ReadWriteLock asReadWriteLock() {
+        Lock readLock = asReadLock();
+        Lock writeLock = asWriteLock();
+        return new ReadWriteLock() {
+            @Override
+            public Lock readLock() {
+                return readLock;
+            }
+
+            @Override
+            public Lock writeLock() {
+                return writeLock;
+            }
+        };
+    }
+
+    // ------------------------------------------------------------ internals
+
+    private boolean reenterWrite() {
+        if (writeOwner == Thread.currentThread()) {
+            writeHolds++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean upgrade(ReadHolds holds) {
+        if (holds.stamp == 0) {
+            return false;  // Cannot happen: reads without a stamp ride on our own write lock
+        }
+        long stamp = lock.tryConvertToWriteLock(holds.stamp);
+        if (stamp == 0) {
+            return false;
+        }
+        holds.stamp = 0;  // The read lock became the write lock
+        return ownWrite(stamp);
+    }
+
+    private boolean ownWrite(long stamp) {
+        if (stamp == 0) {
+            return false;
+        }
+        writeStamp = stamp;
+        writeHolds = 1;
+        writeOwner = Thread.currentThread();
+        return true;
+    }
+
+    private boolean reenterRead(ReadHolds holds) {
+        if (holds.count > 0 || writeOwner == Thread.currentThread()) {
+            holds.count++;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean ownRead(ReadHolds holds, long stamp) {
+        if (stamp == 0) {
+            return false;
+        }
+        holds.stamp = stamp;
+        holds.count = 1;
+        return true;
+    }
+
+    private final class ReadLockView implements Lock {
+        @Override
+        public void lock() {
+            readLock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            readLockInterruptibly();
+        }
+
+        @Override
+        public boolean tryLock() {
+            return tryReadLock();
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return tryReadLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            unlockRead();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("ReentrantStampedLock does not support conditions");
+        }
+    }
+
+    private final class WriteLockView implements Lock {
+        @Override
+        public void lock() {
+            writeLock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            writeLockInterruptibly();
+        }
+
+        @Override
+        public boolean tryLock() {
+            return tryWriteLock();
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return tryWriteLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            unlockWrite();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("ReentrantStampedLock does not support conditions");
+        }
+    }
+}
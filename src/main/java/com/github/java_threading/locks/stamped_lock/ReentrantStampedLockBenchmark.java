@@ -0,0 +1,165 @@
+package com.github.java_threading.locks.stamped_lock;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * What ReentrantStampedLock costs on top of StampedLock
+ *
+ * Single thread, no contention, so only the wrapper's own work shows:
+ * - optimistic read + validate: should be identical (plain delegation)
+ * - read lock/unlock: + one ThreadLocal lookup per call
+ * - write lock/unlock: + owner/count bookkeeping and a ThreadLocal
+ *   lookup on release
+ * - nested read/write: re-entry is a counter increment, cheaper than a
+ *   real acquisition (and the raw StampedLock cannot do it at all)
+ *
+ * Under contention the StampedLock underneath dominates; compare both
+ * in LockBenchmarkSuite.
+ *
+ * Usage: ReentrantStampedLockBenchmark [iterations]
+ */
+public class ReentrantStampedLockBenchmark {
+
+    private long x;
+    private long y;
+    private long sink;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        ReentrantStampedLockBenchmark benchmark = new ReentrantStampedLockBenchmark();
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("Round " + round + (round == 1 ? " (warmup)" : ""));
+            benchmark.runAll(iterations);
+        }
+        System.out.println("(checksum " + benchmark.sink + ")");
+    }
+
+    private void runAll(int iterations) {
+        StampedLock raw = new StampedLock();
+        ReentrantStampedLock wrapped = new ReentrantStampedLock();
+
+        report("optimistic read", optimisticRaw(raw, iterations), optimisticWrapped(wrapped, iterations));
+        report("read lock/unlock", readRaw(raw, iterations), readWrapped(wrapped, iterations));
+        report("write lock/unlock", writeRaw(raw, iterations), writeWrapped(wrapped, iterations));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            wrapped.readLock();
+            try {
+                wrapped.readLock();
+                try {
+                    sink += x;
+                } finally {
+                    wrapped.unlockRead();
+                }
+            } finally {
+                wrapped.unlockRead();
+            }
+        }
+        System.out.printf("  %-20s %27s %8.1f ns%n", "nested read (2)", "", perOp(start, iterations));
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            wrapped.writeLock();
+            try {
+                wrapped.writeLock();
+                try {
+                    x++;
+                } finally {
+                    wrapped.unlockWrite();
+                }
+            } finally {
+                wrapped.unlockWrite();
+            }
+        }
+        System.out.printf("  %-20s %27s %8.1f ns%n", "nested write (2)", "", perOp(start, iterations));
+    }
+
+    private static void report(String operation, double raw, double wrapped) {
+        System.out.printf("  %-20s StampedLock %8.1f ns   ReentrantStampedLock %8.1f ns%n", operation, raw, wrapped);
+    }
+
+    private double optimisticRaw(StampedLock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long stamp = lock.tryOptimisticRead();
+            long currentX = x;
+            long currentY = y;
+            if (lock.validate(stamp)) {
+                sink += currentX + currentY;
+            }
+        }
+        return perOp(start, iterations);
+    }
+
+    private double optimisticWrapped(ReentrantStampedLock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long stamp = lock.tryOptimisticRead();
+            long currentX = x;
+            long currentY = y;
+            if (lock.validate(stamp)) {
+                sink += currentX + currentY;
+            }
+        }
+        return perOp(start, iterations);
+    }
+
+    private double readRaw(StampedLock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long stamp = lock.readLock();
+            try {
+                sink += x;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return perOp(start, iterations);
+    }
+
+    private double readWrapped(ReentrantStampedLock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lock.readLock();
+            try {
+                sink += x;
+            } finally {
+                lock.unlockRead();
+            }
+        }
+        return perOp(start, iterations);
+    }
+
+    private double writeRaw(StampedLock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long stamp = lock.writeLock();
+            try {
+                x++;
+                y++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return perOp(start, iterations);
+    }
+
+    private double writeWrapped(ReentrantStampedLock lock, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lock.writeLock();
+            try {
+                x++;
+                y++;
+            } finally {
+                lock.unlockWrite();
+            }
+        }
+        return perOp(start, iterations);
+    }
+
+    private static double perOp(long start, int iterations) {
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
@@ -160,6 +160,7 @@ public class StampedLockMain {
         // This is the canonical pattern for using optimistic reads
         double[] result = readCoordinatesWithFallback();
         System.out.println("Read coordinates: x=" + result[0] + ", y=" + result[1]);
+        System.out.println("(OptimisticValue packages this pattern for 2-8 fields: see OptimisticValueMain)");
     }
 
     private double[] readCoordinatesWithFallback() {
@@ -309,5 +310,6 @@ public class StampedLockMain {
         System.out.println("\nIMPORTANT: StampedLock is NOT reentrant!");
         System.out.println("The same thread CANNOT acquire the lock twice.");
         System.out.println("Attempting to do so will cause deadlock!");
+        System.out.println("ReentrantStampedLock adds reentrancy and keeps the optimistic path as is.");
     }
 }
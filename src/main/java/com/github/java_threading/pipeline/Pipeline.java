@@ -0,0 +1,236 @@
+package com.github.java_threading.pipeline;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Multi-stage producer/consumer pipeline
+ *
+ * Pipeline.source("numbers", iterator)
+ *         .map("square", 2, x -> x * x)
+ *         .filter("even", 1, x -> x % 2 == 0)
+ *         .batch("batch", 10)
+ *         .sink("print", 1, System.out::println);
+ *
+ * - Every stage has its own worker threads (parallelism)
+ * - Stages are connected by bounded CustomBlockingQueues
+ * - Backpressure: a slow stage fills its input queue, the upstream put()
+ *   blocks, which fills the queue before it, ... all the way to the source
+ * - shutdown() stops the source; everything already queued still flows
+ *   through every stage before the threads exit (graceful drain)
+ */
+public class Pipeline {
+
+    private final String sourceName;
+    private final Iterator<?> source;
+    private final List<Stage> stages;
+    private final LongAdder sourceEmitted = new LongAdder();
+    private volatile Thread sourceThread;
+    private volatile boolean stopRequested = false;
+    private volatile long startNanos;
+
+    private Pipeline(String sourceName, Iterator<?> source, List<Stage> stages) {
+        this.sourceName = sourceName;
+        this.source = source;
+        this.stages = stages;
+        for (int i = 0; i < stages.size() - 1; i++) {
+            stages.get(i).connectTo(stages.get(i + 1));
+        }
+    }
+
+    public static <T> Builder<T> source(String name, Iterator<? extends T> source) {
+        return new Builder<>(name, source);
+    }
+
+    public static <T> Builder<T> source(String name, Iterable<? extends T> source) {
+        return new Builder<>(name, source.iterator());
+    }
+
+    /**
+     * Starts all stage workers, then the source thread
+     */
+    public synchronized Pipeline start() {
+        if (sourceThread != null) {
+            throw new IllegalStateException("Pipeline already started");
+        }
+        startNanos = System.nanoTime();
+        for (Stage stage : stages) {
+            stage.start();
+        }
+        sourceThread = new Thread(this::runSource, "pipeline-" + sourceName);
+        sourceThread.start();
+        return this;
+    }
+
+    /**
+     * Stops pulling from the source. Elements already in flight are drained.
+     */
+    public void shutdown() {
+        stopRequested = true;
+    }
+
+    /**
+     * Waits until the source is exhausted (or shut down) and every stage drained
+     */
+    public void awaitCompletion() throws InterruptedException {
+        while (!awaitCompletion(1, TimeUnit.HOURS)) {
+            // Keep waiting
+        }
+    }
+
+    /**
+     * @return true if everything finished within the timeout
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        Thread sourceThread = this.sourceThread;
+        if (sourceThread == null) {
+            throw new IllegalStateException("Pipeline not started");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        sourceThread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        if (sourceThread.isAlive()) {
+            return false;
+        }
+        for (Stage stage : stages) {
+            if (!stage.join(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One row per stage, the source first
+     */
+    public List<StageMetrics> metrics() {
+        double elapsedSeconds = startNanos == 0 ? 0 : (System.nanoTime() - startNanos) / 1e9;
+        List<StageMetrics> result = new ArrayList<>();
+        long produced = sourceEmitted.sum();
+        result.add(new StageMetrics(sourceName, 1, 0, 0, produced, produced, 0,
+                elapsedSeconds > 0 ? produced / elapsedSeconds : 0));
+        for (Stage stage : stages) {
+            result.add(stage.metrics(elapsedSeconds));
+        }
+        return result;
+    }
+
+    public void printMetrics() {
+        metrics().forEach(System.out::println);
+    }
+
+    private void runSource() {
+        Stage first = stages.get(0);
+        try {
+            while (!stopRequested && source.hasNext()) {
+                first.input.put(source.next());  // Blocks when the pipeline is full
+                sourceEmitted.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            first.input.close();  // Start the drain
+        }
+    }
+
+    /**
+     * Declares the stages. T is the element type flowing OUT of the last stage declared so far.
+     */
+    public static class Builder<T> {
+
+        private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+        private final String sourceName;
+        private final Iterator<?> source;
+        private final List<Stage> stages = new ArrayList<>();
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        private Builder(String sourceName, Iterator<?> source) {
+            this.sourceName = sourceName;
+            this.source = source;
+        }
+
+        /**
+         * Capacity of the input queue of every stage declared after this call
+         */
+        public Builder<T> queueCapacity(int capacity) {
+            this.queueCapacity = capacity;
+            return this;
+        }
+
+        public <R> Builder<R> map(String name, Function<? super T, ? extends R> function) {
+            return map(name, 1, function);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <R> Builder<R> map(String name, int parallelism, Function<? super T, ? extends R> function) {
+            addStage(name, parallelism, () -> (item, downstream) -> downstream.emit(function.apply((T) item)));
+            return (Builder<R>) this;
+        }
+
+        public Builder<T> filter(String name, Predicate<? super T> predicate) {
+            return filter(name, 1, predicate);
+        }
+
+        @SuppressWarnings("unchecked")
+        public Builder<T> filter(String name, int parallelism, Predicate<? super T> predicate) {
+            addStage(name, parallelism, () -> (item, downstream) -> {
+                if (predicate.test((T) item)) {
+                    downstream.emit(item);
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Groups elements into lists of batchSize. The last batch may be smaller.
+         * Single-threaded so batches keep the arrival order.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<List<T>> batch(String name, int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            addStage(name, 1, () -> new Stage.Operator() {
+                private List<Object> current = new ArrayList<>(batchSize);
+
+                @Override
+                public void process(Object item, Stage.Emitter downstream) throws InterruptedException {
+                    current.add(item);
+                    if (current.size() == batchSize) {
+                        downstream.emit(current);
+                        current = new ArrayList<>(batchSize);
+                    }
+                }
+
+                @Override
+                public void finish(Stage.Emitter downstream) throws InterruptedException {
+                    if (!current.isEmpty()) {
+                        downstream.emit(current);  // Flush the partial batch on drain
+                    }
+                }
+            });
+            return (Builder<List<T>>) this;
+        }
+
+        public Pipeline sink(String name, Consumer<? super T> consumer) {
+            return sink(name, 1, consumer);
+        }
+
+        @SuppressWarnings("unchecked")
+        public Pipeline sink(String name, int parallelism, Consumer<? super T> consumer) {
+            addStage(name, parallelism, () -> (item, downstream) -> consumer.accept((T) item));
+            return new Pipeline(sourceName, source, stages);
+        }
+
+        private void addStage(String name, int parallelism, Supplier<Stage.Operator> operator) {
+            stages.add(new Stage(name, parallelism, queueCapacity, operator));
+        }
+    }
+}
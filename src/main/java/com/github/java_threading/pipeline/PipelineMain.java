@@ -0,0 +1,73 @@
+package com.github.java_threading.pipeline;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Pipeline Demo
+ *
+ * Example 1: source -> map -> filter -> batch -> sink, run to completion
+ * Example 2: infinite source with a slow sink -> backpressure, then graceful shutdown
+ */
+public class PipelineMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        // Example 1: Run to completion
+        System.out.println("=== Example 1: Run to Completion ===");
+        runToCompletionExample();
+
+        // Example 2: Backpressure and graceful shutdown
+        System.out.println("\n=== Example 2: Backpressure and Graceful Shutdown ===");
+        backpressureExample();
+    }
+
+    public static void runToCompletionExample() throws InterruptedException {
+        AtomicLong total = new AtomicLong();
+
+        Pipeline pipeline = Pipeline.source("numbers", IntStream.rangeClosed(1, 10_000).boxed().toList())
+                .map("square", 2, x -> (long) x * x)
+                .filter("even", 2, x -> x % 2 == 0)
+                .batch("batch", 1_000)
+                .sink("sum", batch -> total.addAndGet(batch.stream().mapToLong(Long::longValue).sum()));
+
+        pipeline.start().awaitCompletion();
+
+        System.out.println("Sum of even squares: " + total.get());
+        pipeline.printMetrics();
+    }
+
+    public static void backpressureExample() throws InterruptedException {
+        AtomicLong counter = new AtomicLong();
+
+        // Infinite source: only the slow sink limits how fast it is pulled
+        Pipeline pipeline = Pipeline.source("ticks", IntStream.iterate(0, i -> i + 1).iterator())
+                .queueCapacity(8)
+                .map("format", 2, i -> "tick-" + i)
+                .batch("batch", 4)
+                .sink("slow-sink", 1, (List<String> batch) -> {
+                    try {
+                        Thread.sleep(50);  // Slow consumer
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    counter.addAndGet(batch.size());
+                });
+
+        pipeline.start();
+
+        for (int i = 0; i < 3; i++) {
+            TimeUnit.MILLISECONDS.sleep(300);
+            System.out.println("--- after " + (i + 1) * 300 + "ms (queues stay full, source is throttled) ---");
+            pipeline.printMetrics();
+        }
+
+        long start = System.nanoTime();
+        pipeline.shutdown();
+        pipeline.awaitCompletion();
+        System.out.println("--- drained in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms ---");
+        pipeline.printMetrics();
+        System.out.println("Elements reaching the sink: " + counter.get());
+    }
+}
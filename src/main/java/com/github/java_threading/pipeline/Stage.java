@@ -0,0 +1,122 @@
+package com.github.java_threading.pipeline;
+
+import com.github.java_threading.blocking_queue_impl.CustomBlockingQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * One stage of a Pipeline: N worker threads taking from a bounded input
+ * queue and putting into the next stage's input queue.
+ *
+ * Shutdown is driven by closing queues:
+ * - Workers loop until take() returns null (input closed AND drained)
+ * - The LAST worker of a stage to finish closes the output queue,
+ *   so the close travels downstream only after everything was processed
+ */
+final class Stage {
+
+    /**
+     * What a stage does with one element. A fresh Operator is created per
+     * worker thread, so it may keep per-thread state (e.g. a partial batch).
+     */
+    interface Operator {
+        void process(Object item, Emitter downstream) throws InterruptedException;
+
+        /**
+         * Called once per worker after the input is drained
+         */
+        default void finish(Emitter downstream) throws InterruptedException {
+        }
+    }
+
+    interface Emitter {
+        void emit(Object item) throws InterruptedException;
+    }
+
+    final String name;
+    final int parallelism;
+    final CustomBlockingQueue<Object> input;
+    final int inputCapacity;
+    private final Supplier<Operator> operatorFactory;
+    private CustomBlockingQueue<Object> output;  // null for the sink
+
+    private final Thread[] workers;
+    private final AtomicInteger activeWorkers;
+    final LongAdder processed = new LongAdder();
+    final LongAdder emitted = new LongAdder();
+    final LongAdder failed = new LongAdder();
+
+    Stage(String name, int parallelism, int inputCapacity, Supplier<Operator> operatorFactory) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive for stage " + name);
+        }
+        this.name = name;
+        this.parallelism = parallelism;
+        this.inputCapacity = inputCapacity;
+        this.input = new CustomBlockingQueue<>(inputCapacity);
+        this.operatorFactory = operatorFactory;
+        this.workers = new Thread[parallelism];
+        this.activeWorkers = new AtomicInteger(parallelism);
+    }
+
+    void connectTo(Stage next) {
+        this.output = next.input;
+    }
+
+    void start() {
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Thread(this::runWorker, "pipeline-" + name + "-" + i);
+            workers[i].start();
+        }
+    }
+
+    boolean join(long deadlineNanos) throws InterruptedException {
+        for (Thread worker : workers) {
+            long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                return !worker.isAlive();
+            }
+            worker.join(remainingMillis);
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    StageMetrics metrics(double elapsedSeconds) {
+        long done = processed.sum();
+        return new StageMetrics(name, parallelism, input.size(), inputCapacity,
+                done, emitted.sum(), failed.sum(), elapsedSeconds > 0 ? done / elapsedSeconds : 0);
+    }
+
+    private void runWorker() {
+        Operator operator = operatorFactory.get();
+        Emitter downstream = output == null
+                ? item -> { }
+                : item -> {
+                    output.put(item);  // Blocks when the next stage is behind -> backpressure
+                    emitted.increment();
+                };
+        try {
+            Object item;
+            while ((item = input.take()) != null) {
+                processed.increment();
+                try {
+                    operator.process(item, downstream);
+                } catch (RuntimeException e) {
+                    failed.increment();  // One bad element must not kill the stage
+                }
+            }
+            operator.finish(downstream);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (activeWorkers.decrementAndGet() == 0 && output != null) {
+                output.close();  // Last one out closes the door
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.java_threading.pipeline;
+
+/**
+ * Point-in-time snapshot of one pipeline stage
+ *
+ * @param queueDepth        elements waiting in the stage's input queue
+ * @param queueCapacity     capacity of that queue (depth == capacity -> upstream is blocked)
+ * @param processed         elements taken from the input queue
+ * @param emitted           elements handed to the next stage
+ * @param failed            elements whose stage function threw
+ * @param throughputPerSec  processed / seconds since the pipeline started
+ */
+public record StageMetrics(String name, int parallelism, int queueDepth, int queueCapacity,
+                           long processed, long emitted, long failed, double throughputPerSec) {
+
+    @Override
+    public String toString() {
+        return String.format("%-10s x%-2d queue %4d/%-4d processed %8d emitted %8d failed %4d  %,12.0f/s",
+                name, parallelism, queueDepth, queueCapacity, processed, emitted, failed, throughputPerSec);
+    }
+}